@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLException;
+
+/**
+ * Retries 429 and 5xx responses and transient network errors with exponential backoff and decorrelated jitter.
+ *
+ * Each delay is picked at random between the base delay and three times the previous delay, capped by the max
+ * delay. A Retry-After header sent by the server takes precedence over the computed delay. Calls are retried until
+ * either the max number of attempts is made or the max elapsed time would be exceeded.
+ *
+ * Calls which are not idempotent, e.g. creating objects, are retried only if the request can not have been processed:
+ * on 429 and 503 responses, and after a network error if the connection could not be established. Other server
+ * errors, read timeouts and dropped connections may hide an object that was created, which a retry would create
+ * again.
+ */
+public class BackoffRetryPolicy implements RetryPolicy {
+  static final long BASE_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1);
+  static final long MAX_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private static final String RETRY_AFTER_HEADER = "Retry-After";
+  private static final int TOO_MANY_REQUESTS = 429;
+
+  private final int maxAttempts;
+  private final long maxElapsedMillis;
+  private final boolean idempotent;
+
+  /**
+   * Constructor for BackoffRetryPolicy object of idempotent calls.
+   * @param maxAttempts the max number of attempts, including the first one
+   * @param maxElapsedMillis the max time to spend on one call, including delays
+   */
+  public BackoffRetryPolicy(int maxAttempts, long maxElapsedMillis) {
+    this(maxAttempts, maxElapsedMillis, true);
+  }
+
+  /**
+   * Constructor for BackoffRetryPolicy object.
+   * @param maxAttempts the max number of attempts, including the first one
+   * @param maxElapsedMillis the max time to spend on one call, including delays
+   * @param idempotent whether the calls can be repeated without changing their outcome
+   */
+  public BackoffRetryPolicy(int maxAttempts, long maxElapsedMillis, boolean idempotent) {
+    this.maxAttempts = maxAttempts;
+    this.maxElapsedMillis = maxElapsedMillis;
+    this.idempotent = idempotent;
+  }
+
+  /**
+   * Returns the retry policy of idempotent calls configured by the given config.
+   * @param config the hubspot config
+   * @return the retry policy
+   */
+  public static BackoffRetryPolicy of(BaseHubspotConfig config) {
+    return of(config, true);
+  }
+
+  /**
+   * Returns the retry policy configured by the given config.
+   * @param config the hubspot config
+   * @param idempotent whether the calls can be repeated without changing their outcome
+   * @return the retry policy
+   */
+  public static BackoffRetryPolicy of(BaseHubspotConfig config, boolean idempotent) {
+    return new BackoffRetryPolicy(config.getMaxRetryAttempts(),
+                                  TimeUnit.SECONDS.toMillis(config.getMaxRetryElapsedTime()), idempotent);
+  }
+
+  @Override
+  public long getRetryDelay(int attempt, long elapsedMillis, long previousDelayMillis,
+                            @Nullable HttpResponse response, @Nullable IOException error) {
+    if (attempt >= maxAttempts || !isRetryable(response, error)) {
+      return -1;
+    }
+    long delay = response == null ? -1 : getRetryAfter(response);
+    if (delay < 0) {
+      long upperBound = Math.max(BASE_DELAY_MILLIS, previousDelayMillis * 3);
+      delay = Math.min(MAX_DELAY_MILLIS, ThreadLocalRandom.current().nextLong(BASE_DELAY_MILLIS, upperBound + 1));
+    }
+    return elapsedMillis + delay > maxElapsedMillis ? -1 : delay;
+  }
+
+  private boolean isRetryable(@Nullable HttpResponse response, @Nullable IOException error) {
+    if (response != null) {
+      int statusCode = response.getStatusLine().getStatusCode();
+      if (!idempotent) {
+        // other server errors may be sent after the request was processed
+        return statusCode == TOO_MANY_REQUESTS || statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE;
+      }
+      return statusCode == TOO_MANY_REQUESTS || statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+    }
+    // the request was not sent if the connection could not be established
+    if (error instanceof ConnectTimeoutException || error instanceof ConnectException) {
+      return true;
+    }
+    if (!idempotent) {
+      return false;
+    }
+    if (error instanceof SocketTimeoutException) {
+      return true;
+    }
+    // interruptions, unknown hosts and TLS failures will not go away on retry
+    return error != null && !(error instanceof InterruptedIOException) && !(error instanceof UnknownHostException)
+      && !(error instanceof SSLException);
+  }
+
+  /**
+   * Returns the delay requested by the Retry-After header, which holds either seconds or an http date.
+   */
+  private static long getRetryAfter(HttpResponse response) {
+    Header header = response.getFirstHeader(RETRY_AFTER_HEADER);
+    if (header == null) {
+      return -1;
+    }
+    String value = header.getValue().trim();
+    try {
+      return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+    } catch (NumberFormatException e) {
+      Date date = DateUtils.parseDate(value);
+      return date == null ? -1 : Math.max(0, date.getTime() - System.currentTimeMillis());
+    }
+  }
+}
@@ -33,7 +33,15 @@ public class BaseHubspotConfig extends ReferencePluginConfig {
   public static final String API_KEY = "apiKey";
   public static final String ACCESS_TOKEN = "accessToken";
   public static final String OAUTH_INFO = "oAuthInfo";
+  public static final String MAX_CONNECTIONS = "maxConnections";
+  public static final String CONNECTION_KEEP_ALIVE = "connectionKeepAlive";
+  public static final String MAX_RETRY_ATTEMPTS = "maxRetryAttempts";
+  public static final String MAX_RETRY_ELAPSED_TIME = "maxRetryElapsedTime";
   public static final String DEFAULT_API_SERVER_URL = "https://api.hubapi.com";
+  public static final int MAX_CONNECTIONS_DEFAULT = 10;
+  public static final int CONNECTION_KEEP_ALIVE_DEFAULT = 30;
+  public static final int MAX_RETRY_ATTEMPTS_DEFAULT = 5;
+  public static final int MAX_RETRY_ELAPSED_TIME_DEFAULT = 300;
 
   @Name(API_SERVER_URL)
   @Description("Api Server Url. Not visible, by default null, can be redefined")
@@ -67,6 +75,29 @@ public class BaseHubspotConfig extends ReferencePluginConfig {
   @Macro
   @Nullable
   public OAuthInfo oAuthInfo;
+  @Name(MAX_CONNECTIONS)
+  @Description("Maximum number of pooled connections to the Hubspot API kept open by one worker. " +
+    "Defaults to 10.")
+  @Macro
+  @Nullable
+  public Integer maxConnections;
+  @Name(CONNECTION_KEEP_ALIVE)
+  @Description("Number of seconds an idle pooled connection is kept open, " +
+    "unless the Hubspot API asks for a different timeout. Defaults to 30.")
+  @Macro
+  @Nullable
+  public Integer connectionKeepAlive;
+  @Name(MAX_RETRY_ATTEMPTS)
+  @Description("Maximum number of attempts of a Hubspot API call failing with a rate limit error, " +
+    "a server error or a network error. Defaults to 5.")
+  @Macro
+  @Nullable
+  public Integer maxRetryAttempts;
+  @Name(MAX_RETRY_ELAPSED_TIME)
+  @Description("Maximum number of seconds spent on retrying one Hubspot API call. Defaults to 300.")
+  @Macro
+  @Nullable
+  public Integer maxRetryElapsedTime;
 
   public BaseHubspotConfig(String referenceName) {
     super(referenceName);
@@ -121,4 +152,20 @@ public class BaseHubspotConfig extends ReferencePluginConfig {
     }
     return accessToken == null ? "" : accessToken;
   }
+
+  public int getMaxConnections() {
+    return maxConnections == null ? MAX_CONNECTIONS_DEFAULT : maxConnections;
+  }
+
+  public int getConnectionKeepAlive() {
+    return connectionKeepAlive == null ? CONNECTION_KEEP_ALIVE_DEFAULT : connectionKeepAlive;
+  }
+
+  public int getMaxRetryAttempts() {
+    return maxRetryAttempts == null ? MAX_RETRY_ATTEMPTS_DEFAULT : maxRetryAttempts;
+  }
+
+  public int getMaxRetryElapsedTime() {
+    return maxRetryElapsedTime == null ? MAX_RETRY_ELAPSED_TIME_DEFAULT : maxRetryElapsedTime;
+  }
 }
@@ -166,10 +166,211 @@ public class ConfigValidator {
         config.containsMacro(SourceHubspotConfig.END_DATE)) {
       return;
     }
+    HubspotHttpClient.acquire(config);
     try {
       new HubspotHelper().getHubspotPage(config, null);
     } catch (IOException e) {
       failureCollector.addFailure(e.getMessage(), null);
+    } finally {
+      HubspotHttpClient.release();
+    }
+  }
+
+  static void validatePagePrefetchDepth(SourceHubspotConfig config, FailureCollector failureCollector) {
+    if (!config.containsMacro(SourceHubspotConfig.PAGE_PREFETCH_DEPTH) && config.getPagePrefetchDepth() < 0) {
+      failureCollector.addFailure(String.format("Page prefetch depth '%d' is not valid.", config.pagePrefetchDepth),
+                                  "Enter zero or a positive number.")
+        .withConfigProperty(SourceHubspotConfig.PAGE_PREFETCH_DEPTH);
+    }
+  }
+
+  static void validateMaxSplits(SourceHubspotConfig config, FailureCollector failureCollector) {
+    if (!config.containsMacro(SourceHubspotConfig.MAX_SPLITS) && config.getMaxSplits() < 1) {
+      failureCollector.addFailure(String.format("Max splits '%d' is not valid.", config.maxSplits),
+                                  "Enter a positive number.")
+        .withConfigProperty(SourceHubspotConfig.MAX_SPLITS);
+    }
+  }
+
+  static void validateCrmV3(SourceHubspotConfig config, FailureCollector failureCollector) {
+    if (config.containsMacro(SourceHubspotConfig.USE_CRM_V3_API) || config.containsMacro(BaseHubspotConfig.OBJECT_TYPE)
+      || !Boolean.TRUE.equals(config.useCrmV3Api)) {
+      return;
+    }
+    try {
+      if (config.getObjectType().getCrmObjectName() == null) {
+        failureCollector.addFailure(String.format("Object Type '%s' is not available in the CRM v3 API.",
+                                                  config.objectType),
+                                    "Select Contacts, Companies, Deals, Products or Tickets, " +
+                                      "or disable the CRM v3 API.")
+          .withConfigProperty(SourceHubspotConfig.USE_CRM_V3_API);
+      }
+    } catch (IllegalArgumentException e) {
+      // invalid object type is reported by validateObjectType
+    }
+  }
+
+  static void validatePageSize(SourceHubspotConfig config, FailureCollector failureCollector) {
+    if (!config.containsMacro(SourceHubspotConfig.PAGE_SIZE) && config.pageSize != null && config.pageSize < 1) {
+      failureCollector.addFailure(String.format("Page size '%d' is not valid.", config.pageSize),
+                                  "Enter a positive number.")
+        .withConfigProperty(SourceHubspotConfig.PAGE_SIZE);
+    }
+  }
+
+  static void validateProperties(SourceHubspotConfig config, FailureCollector failureCollector) {
+    if (config.containsMacro(SourceHubspotConfig.SELECTED_PROPERTIES)
+      || config.containsMacro(BaseHubspotConfig.OBJECT_TYPE) || config.containsMacro(SourceHubspotConfig.USE_CRM_V3_API)
+      || config.containsMacro(SourceHubspotConfig.WATERMARK_PATH) || config.getSelectedProperties().isEmpty()) {
+      return;
+    }
+    try {
+      if (!config.isPropertiesSupported()) {
+        failureCollector.addFailure(String.format("Properties can not be selected for Object Type '%s'.",
+                                                  config.objectType),
+                                    "Select Contacts, Companies, Deals, Products or Tickets, " +
+                                      "or remove the properties.")
+          .withConfigProperty(SourceHubspotConfig.SELECTED_PROPERTIES);
+      }
+    } catch (IllegalArgumentException e) {
+      // invalid object type is reported by validateObjectType
+    }
+  }
+
+  static void validateSearchFilter(SourceHubspotConfig config, FailureCollector failureCollector) {
+    if (config.containsMacro(SourceHubspotConfig.SEARCH_FILTER) || config.getSearchFilter() == null) {
+      return;
+    }
+    try {
+      if (!config.containsMacro(BaseHubspotConfig.OBJECT_TYPE) && !config.isIncrementalSupported()) {
+        failureCollector.addFailure(String.format("Object Type '%s' can not be searched by a filter.",
+                                                  config.objectType),
+                                    "Select Contacts, Companies, Deals, Products or Tickets, " +
+                                      "or remove the search filter.")
+          .withConfigProperty(SourceHubspotConfig.SEARCH_FILTER);
+      }
+    } catch (IllegalArgumentException e) {
+      // invalid object type is reported by validateObjectType
+    }
+    try {
+      // incremental reads and reads split by modification time add the modification date filters
+      boolean modificationTimeBounded = config.containsMacro(SourceHubspotConfig.WATERMARK_PATH)
+        || config.containsMacro(SourceHubspotConfig.MAX_SPLITS) || config.isIncremental() || config.getMaxSplits() > 1;
+      HubspotSearchFilter.parse(config.getSearchFilter(),
+                                modificationTimeBounded ? HubspotSearch.MODIFIED_DATE_FILTERS : 0);
+    } catch (IllegalArgumentException e) {
+      failureCollector.addFailure(String.format("Search filter is not valid: %s", e.getMessage()),
+                                  "Enter conditions joined by AND, optionally grouped by OR.")
+        .withConfigProperty(SourceHubspotConfig.SEARCH_FILTER);
+    }
+  }
+
+  static void validateTypedSchema(SourceHubspotConfig config, FailureCollector failureCollector) {
+    if (config.containsMacro(SourceHubspotConfig.TYPED_SCHEMA) || !config.isTypedSchema()
+      || config.containsMacro(BaseHubspotConfig.OBJECT_TYPE) || config.containsMacro(SourceHubspotConfig.USE_CRM_V3_API)
+      || config.containsMacro(SourceHubspotConfig.WATERMARK_PATH)
+      || config.containsMacro(SourceHubspotConfig.SEARCH_FILTER)) {
+      return;
+    }
+    try {
+      if (!config.isCrmV3Format()) {
+        failureCollector.addFailure(String.format("Objects of type '%s' are not read in the CRM v3 format, " +
+                                                    "which the typed schema requires.", config.objectType),
+                                    "Select Contacts, Companies, Deals, Products or Tickets and enable the " +
+                                      "CRM v3 API, or disable the typed schema.")
+          .withConfigProperty(SourceHubspotConfig.TYPED_SCHEMA);
+      }
+    } catch (IllegalArgumentException e) {
+      // invalid object type is reported by validateObjectType
+    }
+  }
+
+  static void validateIncremental(SourceHubspotConfig config, FailureCollector failureCollector) {
+    if (config.containsMacro(SourceHubspotConfig.WATERMARK_PATH) || config.containsMacro(BaseHubspotConfig.OBJECT_TYPE)
+      || !config.isIncremental()) {
+      return;
+    }
+    try {
+      if (!config.isIncrementalSupported()) {
+        failureCollector.addFailure(String.format("Object Type '%s' can not be read incrementally.",
+                                                  config.objectType),
+                                    "Select Contacts, Companies, Deals, Products or Tickets, " +
+                                      "or remove the high-water mark path.")
+          .withConfigProperty(SourceHubspotConfig.WATERMARK_PATH);
+      }
+    } catch (IllegalArgumentException e) {
+      // invalid object type is reported by validateObjectType
+    }
+  }
+
+  static void validateIndexingDelay(SourceHubspotConfig config, FailureCollector failureCollector) {
+    if (!config.containsMacro(SourceHubspotConfig.INDEXING_DELAY) && config.getIndexingDelay() < 0) {
+      failureCollector.addFailure(String.format("Indexing delay '%d' is not valid.", config.indexingDelay),
+                                  "Enter zero or a positive number.")
+        .withConfigProperty(SourceHubspotConfig.INDEXING_DELAY);
+    }
+  }
+
+  /**
+   * Verifies if connection pool settings of the hubspot config are valid.
+   * @param config the hubspot config
+   * @param failureCollector the failure collector
+   */
+  public static void validateConnectionSettings(BaseHubspotConfig config, FailureCollector failureCollector) {
+    if (!config.containsMacro(BaseHubspotConfig.MAX_CONNECTIONS) && config.getMaxConnections() < 1) {
+      failureCollector.addFailure(String.format("Max connections '%d' is not valid.", config.maxConnections),
+                                  "Enter a positive number.")
+        .withConfigProperty(BaseHubspotConfig.MAX_CONNECTIONS);
+    }
+    if (!config.containsMacro(BaseHubspotConfig.CONNECTION_KEEP_ALIVE) && config.getConnectionKeepAlive() < 0) {
+      failureCollector.addFailure(String.format("Connection keep-alive '%d' is not valid.",
+                                                config.connectionKeepAlive),
+                                  "Enter zero or a positive number of seconds.")
+        .withConfigProperty(BaseHubspotConfig.CONNECTION_KEEP_ALIVE);
+    }
+  }
+
+  /**
+   * Verifies if retry settings of the hubspot config are valid.
+   * @param config the hubspot config
+   * @param failureCollector the failure collector
+   */
+  public static void validateRetrySettings(BaseHubspotConfig config, FailureCollector failureCollector) {
+    if (!config.containsMacro(BaseHubspotConfig.MAX_RETRY_ATTEMPTS) && config.getMaxRetryAttempts() < 1) {
+      failureCollector.addFailure(String.format("Max retry attempts '%d' is not valid.", config.maxRetryAttempts),
+                                  "Enter a positive number.")
+        .withConfigProperty(BaseHubspotConfig.MAX_RETRY_ATTEMPTS);
+    }
+    if (!config.containsMacro(BaseHubspotConfig.MAX_RETRY_ELAPSED_TIME) && config.getMaxRetryElapsedTime() < 0) {
+      failureCollector.addFailure(String.format("Max retry elapsed time '%d' is not valid.",
+                                                config.maxRetryElapsedTime),
+                                  "Enter zero or a positive number of seconds.")
+        .withConfigProperty(BaseHubspotConfig.MAX_RETRY_ELAPSED_TIME);
+    }
+  }
+
+  /**
+   * Verifies if batch and concurrency settings of the sink hubspot config are valid.
+   * @param config the sink hubspot config
+   * @param failureCollector the failure collector
+   */
+  public static void validateBatchSettings(SinkHubspotConfig config, FailureCollector failureCollector) {
+    if (!config.containsMacro(SinkHubspotConfig.BATCH_SIZE)
+      && (config.getBatchSize() < 1 || config.getBatchSize() > SinkHubspotConfig.MAX_BATCH_SIZE)) {
+      failureCollector.addFailure(String.format("Batch size '%d' is not valid.", config.batchSize),
+                                  String.format("Enter a number between 1 and %d.", SinkHubspotConfig.MAX_BATCH_SIZE))
+        .withConfigProperty(SinkHubspotConfig.BATCH_SIZE);
+    }
+    if (!config.containsMacro(SinkHubspotConfig.BATCH_FLUSH_INTERVAL) && config.getBatchFlushInterval() < 0) {
+      failureCollector.addFailure(String.format("Batch flush interval '%d' is not valid.", config.batchFlushInterval),
+                                  "Enter zero or a positive number of seconds.")
+        .withConfigProperty(SinkHubspotConfig.BATCH_FLUSH_INTERVAL);
+    }
+    if (!config.containsMacro(SinkHubspotConfig.MAX_CONCURRENT_REQUESTS) && config.getMaxConcurrentRequests() < 1) {
+      failureCollector.addFailure(String.format("Max concurrent requests '%d' is not valid.",
+                                                config.maxConcurrentRequests),
+                                  "Enter a positive number.")
+        .withConfigProperty(SinkHubspotConfig.MAX_CONCURRENT_REQUESTS);
     }
   }
 
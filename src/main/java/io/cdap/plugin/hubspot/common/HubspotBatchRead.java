@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads CRM objects by their ids with the CRM batch read API.
+ */
+public final class HubspotBatchRead {
+  /**
+   * Maximum number of objects read by one request.
+   */
+  public static final int MAX_BATCH_SIZE = 100;
+
+  private HubspotBatchRead() {
+  }
+
+  /**
+   * Reads the objects with the given ids. Ids of objects which do not exist anymore are ignored.
+   * @param config the source hubspot config
+   * @param ids the ids of the objects, at most {@link #MAX_BATCH_SIZE}
+   * @return the objects as JSON strings in the CRM v3 format
+   * @throws IOException on issues with data reading
+   */
+  public static List<String> readObjects(SourceHubspotConfig config, Collection<String> ids) throws IOException {
+    List<String> objects = new ArrayList<>();
+    if (ids.isEmpty()) {
+      return objects;
+    }
+    JsonArray inputs = new JsonArray();
+    for (String id : ids) {
+      JsonObject input = new JsonObject();
+      input.addProperty("id", id);
+      inputs.add(input);
+    }
+    JsonObject body = new JsonObject();
+    body.add("inputs", inputs);
+    if (!config.getSelectedProperties().isEmpty()) {
+      JsonArray properties = new JsonArray();
+      config.getSelectedProperties().forEach(properties::add);
+      body.add("properties", properties);
+    }
+
+    HttpPost request = new HttpPost(String.format("%s/crm/v3/objects/%s/batch/read", config.getApiServerUrl(),
+                                                  config.getObjectType().getCrmObjectName()));
+    request.setEntity(new StringEntity(body.toString(), ContentType.APPLICATION_JSON));
+    HubspotHelper.addCredentialsToRequest(request, config);
+
+    try (CloseableHttpResponse response = HubspotHelper.executeRequestWithRetries(request, config)) {
+      HttpEntity entity = response.getEntity();
+      if (entity == null) {
+        return objects;
+      }
+      Charset charset = ContentType.getOrDefault(entity).getCharset();
+      try (JsonReader reader = new JsonReader(new InputStreamReader(
+        entity.getContent(), charset == null ? StandardCharsets.UTF_8 : charset))) {
+        reader.setLenient(true);
+        reader.beginObject();
+        while (reader.hasNext()) {
+          if (reader.nextName().equals("results") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+              objects.add(HubspotHelper.readRawJson(reader));
+            }
+            reader.endArray();
+          } else {
+            reader.skipValue();
+          }
+        }
+        reader.endObject();
+      }
+    }
+    return objects;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.URIBuilder;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Lists CRM objects with the CRM v3 objects API.
+ *
+ * Pages are linked by the opaque cursor the API returns with every page, which is used as the offset of the page.
+ * Properties are requested in the query of the list request. If they do not fit into a query, e.g. all the
+ * properties of a typed schema, the list request returns the ids and the properties are read with a batch read
+ * request, which takes them in its body.
+ */
+final class HubspotCrmObjects {
+  // servers and proxies commonly reject request lines over 4 or 8 KB
+  static final int MAX_PROPERTIES_QUERY_LENGTH = 2000;
+
+  private HubspotCrmObjects() {
+  }
+
+  static HttpRequestBase getRequest(SourceHubspotConfig config, @Nullable String offset) {
+    try {
+      URIBuilder b = new URIBuilder(String.format("%s/crm/v3/objects/%s", config.getApiServerUrl(),
+                                                  config.getObjectType().getCrmObjectName()));
+      b.addParameter("limit", String.valueOf(config.getPageSize()));
+      if (offset != null) {
+        b.addParameter("after", offset);
+      }
+      if (!config.getSelectedProperties().isEmpty() && !isPropertiesInBody(config)) {
+        b.addParameter("properties", String.join(",", config.getSelectedProperties()));
+      }
+      return HubspotHelper.addCredentialsToRequest(new HttpGet(b.build()), config);
+    } catch (URISyntaxException e) {
+      throw new RuntimeException("Can't build valid uri", e);
+    }
+  }
+
+  static HubspotPage parseJson(SourceHubspotConfig config, JsonReader reader) throws IOException {
+    List<String> hubspotObjects = new ArrayList<>();
+    String after = null;
+    boolean objectsFound = false;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (name.equals("results") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+        objectsFound = true;
+        reader.beginArray();
+        while (reader.hasNext()) {
+          hubspotObjects.add(HubspotHelper.readRawJson(reader));
+        }
+        reader.endArray();
+      } else if (name.equals("paging") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+        after = HubspotHelper.readNextAfter(reader);
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    if (!objectsFound) {
+      throw new IOException("Not expected JSON response format, 'results' element not found or wrong type");
+    }
+    return new HubspotPage(hubspotObjects, config, after, after != null);
+  }
+
+  /**
+   * Returns the page with the objects read again with their properties, if the properties are too many to be
+   * requested in the query of the list request. Objects deleted in the meantime are left out.
+   */
+  static HubspotPage readProperties(SourceHubspotConfig config, HubspotPage page) throws IOException {
+    if (config.getSelectedProperties().isEmpty() || !isPropertiesInBody(config)) {
+      return page;
+    }
+    Map<String, String> objectsById = new LinkedHashMap<>();
+    for (Iterator<String> objects = page.getIterator(); objects.hasNext(); ) {
+      objectsById.put(new JsonParser().parse(objects.next()).getAsJsonObject().get("id").getAsString(), null);
+    }
+    List<String> ids = new ArrayList<>(objectsById.keySet());
+    for (int from = 0; from < ids.size(); from += HubspotBatchRead.MAX_BATCH_SIZE) {
+      List<String> batch = ids.subList(from, Math.min(from + HubspotBatchRead.MAX_BATCH_SIZE, ids.size()));
+      for (String object : HubspotBatchRead.readObjects(config, batch)) {
+        objectsById.put(new JsonParser().parse(object).getAsJsonObject().get("id").getAsString(), object);
+      }
+    }
+    // the batch read does not keep the order of the ids
+    List<String> hubspotObjects = new ArrayList<>();
+    for (String object : objectsById.values()) {
+      if (object != null) {
+        hubspotObjects.add(object);
+      }
+    }
+    return new HubspotPage(hubspotObjects, config, page.getOffset(), page.getOffset() != null);
+  }
+
+  static boolean isPropertiesInBody(SourceHubspotConfig config) {
+    return String.join(",", config.getSelectedProperties()).length() > MAX_PROPERTIES_QUERY_LENGTH;
+  }
+}
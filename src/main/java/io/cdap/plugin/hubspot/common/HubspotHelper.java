@@ -15,11 +15,11 @@
  */
 package io.cdap.plugin.hubspot.common;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.StatusLine;
@@ -27,33 +27,37 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
 /**
  * Helper class to incorporate Hubspot api interaction.
  */
 public class HubspotHelper {
+  private static final Logger LOG = LoggerFactory.getLogger(HubspotHelper.class);
 
   private static final String AUTHORIZATION_HEADER_NAME = "Authorization";
   private static final String AUTHORIZATION_TOKEN_PREFIX = "Bearer ";
   private static final String HUBSPOT_API_KEY_PARAMETER = "hapikey";
 
-  private static final int MAX_RETRIES_DEFAULT = 3;
-
-  /**
-   * Number of objects in one page to pull.
-   */
-  public static final String PAGE_SIZE = "100";
+  private static final int TOO_MANY_REQUESTS = 429;
 
   /**
    * Return the instance of HubspotPage.
@@ -64,48 +68,100 @@ public class HubspotHelper {
    */
   @Nullable
   public HubspotPage getHubspotPage(SourceHubspotConfig config, String offset) throws IOException {
-    CloseableHttpResponse response = executeRequestWithRetries(getRequest(config, offset));
-    HttpEntity entity = response.getEntity();
-    String result;
-    if (entity != null) {
-      result = EntityUtils.toString(entity);
-      return parseJson(config, result);
+    HubspotPage page = readHubspotPage(config, offset);
+    // properties which do not fit into the query of the list request are read once the list response is closed
+    return page != null && config.isCrmV3() ? HubspotCrmObjects.readProperties(config, page) : page;
+  }
+
+  @Nullable
+  private HubspotPage readHubspotPage(SourceHubspotConfig config, String offset) throws IOException {
+    try (CloseableHttpResponse response = executeRequestWithRetries(getRequest(config, offset), config)) {
+      HttpEntity entity = response.getEntity();
+      if (entity != null) {
+        Charset charset = ContentType.getOrDefault(entity).getCharset();
+        try (JsonReader reader = new JsonReader(new InputStreamReader(
+          entity.getContent(), charset == null ? StandardCharsets.UTF_8 : charset))) {
+          reader.setLenient(true);
+          if (config.isSearch()) {
+            return HubspotSearch.parseJson(config, offset, reader);
+          }
+          return config.isCrmV3()
+            ? HubspotCrmObjects.parseJson(config, reader)
+            : parseJson(config, reader);
+        }
+      }
+      return null;
     }
-    return null;
   }
 
-  /** Executes the given request until it's successful
-   * or the maximum attempts number is exceeded (then {@link IOException} is thrown). */
-  public static CloseableHttpResponse executeRequestWithRetries(HttpRequestBase request) throws IOException {
-    return executeRequestWithRetries(request, MAX_RETRIES_DEFAULT);
+  /** Executes the given request, retrying it as configured by the given config. */
+  public static CloseableHttpResponse executeRequestWithRetries(HttpRequestBase request, BaseHubspotConfig config)
+          throws IOException {
+    return executeRequestWithRetries(request, config, BackoffRetryPolicy.of(config));
   }
 
   /** Executes the given request until it's successful
-   * or maximum retries attempts is exceeded (then {@link IOException} is thrown). */
-  public static CloseableHttpResponse executeRequestWithRetries(HttpRequestBase request, int maxRetries)
-          throws IOException {
-    HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
-    CloseableHttpClient client = httpClientBuilder.build();
+   * or the retry policy gives up (then {@link IOException} is thrown).
+   * The request is executed with the shared {@link HubspotHttpClient}, so the returned response must be closed
+   * to give the connection back to the pool. Requests are paced by the {@link HubspotRateLimiter} of the
+   * credentials of the config. */
+  public static CloseableHttpResponse executeRequestWithRetries(HttpRequestBase request, BaseHubspotConfig config,
+                                                                RetryPolicy retryPolicy) throws IOException {
+    CloseableHttpClient client = HubspotHttpClient.get();
+    HubspotRateLimiter rateLimiter = HubspotRateLimiter.getInstance(config);
 
+    long startTime = System.currentTimeMillis();
+    long delay = 0;
     int count = 0;
-    StatusLine statusLine = null;
-    while (count <= maxRetries) {
+    while (true) {
       ++count;
-      CloseableHttpResponse response = client.execute(request);
-      statusLine = response.getStatusLine();
+      rateLimiter.acquire();
+      CloseableHttpResponse response;
+      try {
+        response = client.execute(request);
+      } catch (IOException e) {
+        delay = retryPolicy.getRetryDelay(count, System.currentTimeMillis() - startTime, delay, null, e);
+        if (delay < 0) {
+          throw e;
+        }
+        LOG.warn(String.format("Request to '%s' failed, retrying in %d ms.", request.getURI().getPath(), delay), e);
+        sleep(delay);
+        continue;
+      }
+      rateLimiter.update(response);
+      StatusLine statusLine = response.getStatusLine();
       int statusCode = statusLine.getStatusCode();
       if (200 <= statusCode && statusCode < 300) {
         return response;
       }
-      if (400 <= statusCode && statusCode < 500) {
+      // consume the error body, so the connection can be reused
+      EntityUtils.consumeQuietly(response.getEntity());
+      response.close();
+
+      delay = retryPolicy.getRetryDelay(count, System.currentTimeMillis() - startTime, delay, response, null);
+      if (delay < 0) {
         if (statusCode == 403) {
           throw new IOException("Hubspot authorization failed: " + statusLine.getReasonPhrase());
         }
-        throw new IOException("The Hubspot API endpoint is not accessible: " + statusLine.getReasonPhrase());
+        if (400 <= statusCode && statusCode < 500 && statusCode != TOO_MANY_REQUESTS) {
+          throw new IOException("The Hubspot API endpoint is not accessible: " + statusLine.getReasonPhrase());
+        }
+        throw new IOException(String.format("Request execution max attempts (%d) exceeded, reason: '%s'",
+                                            count, statusLine.getReasonPhrase()));
       }
+      LOG.warn(String.format("Request to '%s' failed with status %d, retrying in %d ms.",
+                             request.getURI().getPath(), statusCode, delay));
+      sleep(delay);
+    }
+  }
+
+  private static void sleep(long millis) throws IOException {
+    try {
+      TimeUnit.MILLISECONDS.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting to retry the request.");
     }
-    throw new IOException(String.format("Request execution max attempts (%d) exceeded, reason: '%s'",
-            maxRetries + 1, statusLine == null ? "" : statusLine.getReasonPhrase()));
   }
 
   public static HttpRequestBase addCredentialsToRequest(HttpRequestBase request, BaseHubspotConfig config) {
@@ -139,6 +195,12 @@ public class HubspotHelper {
   }
 
   private HttpRequestBase getRequest(SourceHubspotConfig config, String offset) {
+    if (config.isSearch()) {
+      return HubspotSearch.getRequest(config, offset);
+    }
+    if (config.isCrmV3()) {
+      return HubspotCrmObjects.getRequest(config, offset);
+    }
     URI uri;
     try {
       URIBuilder b = new URIBuilder(getEndpoint(config));
@@ -151,11 +213,17 @@ public class HubspotHelper {
       for (String filter : config.getFilters()) {
         b.addParameter("f", filter);
       }
-      if (getLimitPropertyName(config) != null) {
-        b.addParameter(getLimitPropertyName(config), PAGE_SIZE);
+      ObjectType objectType = config.getObjectType();
+      if (objectType.getLimitPropertyName() != null) {
+        b.addParameter(objectType.getLimitPropertyName(), String.valueOf(config.getPageSize()));
       }
-      if (offset != null && getOffsetPropertyName(config) != null) {
-        b.addParameter(getOffsetPropertyName(config), offset);
+      if (offset != null && objectType.getOffsetPropertyName() != null) {
+        b.addParameter(objectType.getOffsetPropertyName(), offset);
+      }
+      if (objectType.getPropertiesPropertyName() != null) {
+        for (String property : config.getSelectedProperties()) {
+          b.addParameter(objectType.getPropertiesPropertyName(), property);
+        }
       }
       uri = b.build();
       return addCredentialsToRequest(new HttpGet(uri), config);
@@ -164,181 +232,184 @@ public class HubspotHelper {
     }
   }
 
-  private HubspotPage parseJson(SourceHubspotConfig sourceHubspotConfig, String json) throws IOException {
-    JsonElement root = new JsonParser().parse(json);
-    JsonObject jsonObject = root.getAsJsonObject();
-    List<JsonElement> hubspotObjects = new ArrayList<>();
+  /**
+   * Reads the page in one pass over the response, without holding the whole response in memory.
+   * Objects of the page are copied as JSON strings without being parsed into trees,
+   * other elements of the response are skipped.
+   */
+  private HubspotPage parseJson(SourceHubspotConfig sourceHubspotConfig, JsonReader reader) throws IOException {
     String objectApiName = getObjectApiName(sourceHubspotConfig);
-    if (objectApiName != null) {
-      JsonElement jsonObjects = jsonObject.get(objectApiName);
-      if (jsonObjects != null && jsonObjects.isJsonArray()) {
-        JsonArray jsonObjectsArray = jsonObjects.getAsJsonArray();
-        for (JsonElement jsonElement : jsonObjectsArray) {
-          hubspotObjects.add(jsonElement);
-        }
-      } else {
-        throw new IOException(
-          String.format("Not expected JSON response format, '%s' element not found or wrong type",
-                        objectApiName));
-      }
-    } else {
-      hubspotObjects.add(root);
+    List<String> hubspotObjects = new ArrayList<>();
+    if (objectApiName == null) {
+      hubspotObjects.add(readRawJson(reader));
+      return new HubspotPage(hubspotObjects, sourceHubspotConfig, null, null);
     }
+    String moreApiName = sourceHubspotConfig.getObjectType().getMoreApiName();
+    String offsetApiName = getOffsetApiName(sourceHubspotConfig);
+
+    boolean objectsFound = false;
     Boolean hasNext = null;
-    String moreApiName = getMoreApiName(sourceHubspotConfig);
-    if (moreApiName != null) {
-      JsonElement hasNextElement = jsonObject.get(moreApiName);
-      if (hasNextElement != null) {
-          hasNext = hasNextElement.getAsBoolean();
+    String offset = null;
+    String total = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (name.equals(objectApiName) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+        objectsFound = true;
+        reader.beginArray();
+        while (reader.hasNext()) {
+          hubspotObjects.add(readRawJson(reader));
+        }
+        reader.endArray();
+      } else if (name.equals(moreApiName) && reader.peek() != JsonToken.NULL) {
+        hasNext = reader.peek() == JsonToken.BOOLEAN ? reader.nextBoolean() : Boolean.parseBoolean(reader.nextString());
+      } else if (name.equals(offsetApiName) && isPrimitive(reader.peek())) {
+        offset = reader.nextString();
+      } else if (name.equals("total") && isPrimitive(reader.peek())) {
+        total = reader.nextString();
       } else {
-        throw new IOException(
-          String.format("Not expected JSON response format, '%s' element not found or wrong type",
-                        moreApiName));
+        reader.skipValue();
       }
     }
-    String offset = null;
-    String offsetApiName = getOffsetApiName(sourceHubspotConfig);
+    reader.endObject();
+
+    if (!objectsFound) {
+      throw new IOException(
+        String.format("Not expected JSON response format, '%s' element not found or wrong type",
+                      objectApiName));
+    }
+    if (moreApiName != null && hasNext == null) {
+      throw new IOException(
+        String.format("Not expected JSON response format, '%s' element not found or wrong type",
+                      moreApiName));
+    }
     if (offsetApiName != null) {
-      JsonElement offsetElement = jsonObject.get(offsetApiName);
-      if (offsetElement != null) {
-        offset = offsetElement.getAsString();
-        JsonElement totalElement = jsonObject.get("total");
-        if (hasNext == null && totalElement != null) {
-          hasNext = !offset.equals(totalElement.getAsString()) && !offset.equals("0");
-        }
-      } else {
+      if (offset == null) {
         throw new IOException(
           String.format("Not expected JSON response format, '%s' element not found or wrong type",
                         offsetApiName));
       }
+      if (hasNext == null && total != null) {
+        hasNext = !offset.equals(total) && !offset.equals("0");
+      }
     }
-    return new HubspotPage(hubspotObjects, sourceHubspotConfig, offset, hasNext);
+    return new HubspotPage(hubspotObjects, sourceHubspotConfig, offset, hasNext, parseTotal(total));
   }
 
   @Nullable
-  private String getLimitPropertyName(SourceHubspotConfig sourceHubspotConfig) {
-    switch (sourceHubspotConfig.getObjectType()) {
-      case CONTACT_LISTS :
-      case RECENT_COMPANIES:
-      case COMPANIES :
-      case CONTACTS :
-        return "count";
-      case EMAIL_EVENTS :
-      case EMAIL_SUBSCRIPTION :
-      case DEALS :
-      case MARKETING_EMAIL :
-      case ANALYTICS :
-        return "limit";
-      case DEAL_PIPELINES :
-      case PRODUCTS :
-      case TICKETS :
-      default :
-        return null;
+  private static Long parseTotal(@Nullable String total) {
+    try {
+      return total == null ? null : Long.valueOf(total);
+    } catch (NumberFormatException e) {
+      return null;
     }
   }
 
-  @Nullable
-  private String getOffsetPropertyName(SourceHubspotConfig sourceHubspotConfig) {
-    switch (sourceHubspotConfig.getObjectType()) {
-      case CONTACT_LISTS :
-      case EMAIL_EVENTS :
-      case RECENT_COMPANIES:
-      case COMPANIES :
-      case DEALS :
-      case MARKETING_EMAIL :
-      case PRODUCTS :
-      case TICKETS :
-      case ANALYTICS :
-      case EMAIL_SUBSCRIPTION :
-        return "offset";
-      case CONTACTS :
-        return "vidOffset";
-      case DEAL_PIPELINES :
-      default :
-        return null;
-    }
+  /**
+   * Copies the next value of the reader token by token into a compact JSON string.
+   */
+  static String readRawJson(JsonReader reader) throws IOException {
+    StringWriter json = new StringWriter();
+    JsonWriter writer = new JsonWriter(json);
+    writer.setLenient(true);
+    int depth = 0;
+    do {
+      switch (reader.peek()) {
+        case BEGIN_ARRAY:
+          reader.beginArray();
+          writer.beginArray();
+          depth++;
+          break;
+        case END_ARRAY:
+          reader.endArray();
+          writer.endArray();
+          depth--;
+          break;
+        case BEGIN_OBJECT:
+          reader.beginObject();
+          writer.beginObject();
+          depth++;
+          break;
+        case END_OBJECT:
+          reader.endObject();
+          writer.endObject();
+          depth--;
+          break;
+        case NAME:
+          writer.name(reader.nextName());
+          break;
+        case STRING:
+          writer.value(reader.nextString());
+          break;
+        case NUMBER:
+          // keep the number exactly as it was sent
+          writer.jsonValue(reader.nextString());
+          break;
+        case BOOLEAN:
+          writer.value(reader.nextBoolean());
+          break;
+        case NULL:
+          reader.nextNull();
+          writer.nullValue();
+          break;
+        default:
+          throw new IOException("Not expected JSON response format, unexpected end of document");
+      }
+    } while (depth > 0);
+    writer.flush();
+    return json.toString();
+  }
+
+  private static boolean isPrimitive(JsonToken token) {
+    return token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN;
   }
 
+  /**
+   * Reads the cursor of the next page out of the 'paging' element of a CRM v3 response.
+   */
   @Nullable
-  private String getOffsetApiName(SourceHubspotConfig sourceHubspotConfig) {
-    switch (sourceHubspotConfig.getObjectType()) {
-      case CONTACT_LISTS :
-      case EMAIL_EVENTS :
-      case RECENT_COMPANIES:
-      case COMPANIES :
-      case DEALS :
-      case EMAIL_SUBSCRIPTION :
-      case MARKETING_EMAIL :
-      case PRODUCTS :
-      case TICKETS :
-        return "offset";
-      case ANALYTICS :
-        if (sourceHubspotConfig.getTimePeriod() != null &&
-          sourceHubspotConfig.getTimePeriod().equals(TimePeriod.TOTAL)) {
-          return "offset";
+  static String readNextAfter(JsonReader reader) throws IOException {
+    String after = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      if (reader.nextName().equals("next") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+        reader.beginObject();
+        while (reader.hasNext()) {
+          if (reader.nextName().equals("after") && reader.peek() != JsonToken.NULL) {
+            after = reader.nextString();
+          } else {
+            reader.skipValue();
+          }
         }
-        return null;
-      case CONTACTS :
-        return "vid-offset";
-      case DEAL_PIPELINES :
-      default :
-        return null;
+        reader.endObject();
+      } else {
+        reader.skipValue();
+      }
     }
+    reader.endObject();
+    return after;
   }
 
   @Nullable
-  private String getMoreApiName(SourceHubspotConfig sourceHubspotConfig) {
-    switch (sourceHubspotConfig.getObjectType()) {
-      case CONTACT_LISTS :
-      case CONTACTS :
-      case COMPANIES :
-        return "has-more";
-      case EMAIL_EVENTS :
-      case RECENT_COMPANIES:
-      case DEALS :
-      case EMAIL_SUBSCRIPTION :
-      case PRODUCTS :
-      case TICKETS :
-        return "hasMore";
-      case DEAL_PIPELINES :
-      case MARKETING_EMAIL :
-      case ANALYTICS :
-      default :
-        return null;
+  private String getOffsetApiName(SourceHubspotConfig sourceHubspotConfig) {
+    // only the total analytics report is paged
+    if (sourceHubspotConfig.getObjectType() == ObjectType.ANALYTICS && !isTotalReport(sourceHubspotConfig)) {
+      return null;
     }
+    return sourceHubspotConfig.getObjectType().getOffsetApiName();
   }
 
   @Nullable
   private String getObjectApiName(SourceHubspotConfig sourceHubspotConfig) {
-    switch (sourceHubspotConfig.getObjectType()) {
-      case CONTACT_LISTS :
-        return "lists";
-      case CONTACTS :
-        return "contacts";
-      case EMAIL_EVENTS :
-        return "events";
-      case EMAIL_SUBSCRIPTION :
-        return "timeline";
-      case RECENT_COMPANIES:
-      case DEAL_PIPELINES :
-        return "results";
-      case COMPANIES :
-        return "companies";
-      case DEALS :
-        return "deals";
-      case MARKETING_EMAIL :
-      case PRODUCTS :
-      case TICKETS :
-        return "objects";
-      case ANALYTICS :
-        if (sourceHubspotConfig.getTimePeriod() != null &&
-          sourceHubspotConfig.getTimePeriod().equals(TimePeriod.TOTAL)) {
-          return "breakdowns";
-        }
-        return null;
-      default :
-        return null;
+    // reports other than the total one are returned as a single object
+    if (sourceHubspotConfig.getObjectType() == ObjectType.ANALYTICS && !isTotalReport(sourceHubspotConfig)) {
+      return null;
     }
+    return sourceHubspotConfig.getObjectType().getObjectApiName();
+  }
+
+  private static boolean isTotalReport(SourceHubspotConfig sourceHubspotConfig) {
+    return TimePeriod.TOTAL.equals(sourceHubspotConfig.getTimePeriod());
   }
 
   /**
@@ -346,39 +417,15 @@ public class HubspotHelper {
    * @param sourceHubspotConfig the source hubspot config
    * @return the complete url as string
    */
-  @Nullable
   public String getEndpoint(SourceHubspotConfig sourceHubspotConfig) {
     String apiServerUrl = sourceHubspotConfig.getApiServerUrl();
-    switch (sourceHubspotConfig.getObjectType()) {
-      case CONTACT_LISTS :
-        return String.format("%s/contacts/v1/lists", apiServerUrl);
-      case CONTACTS :
-        return String.format("%s/contacts/v1/lists/all/contacts/all", apiServerUrl);
-      case EMAIL_EVENTS :
-        return String.format("%s/email/public/v1/events", apiServerUrl);
-      case EMAIL_SUBSCRIPTION :
-        return String.format("%s/email/public/v1/subscriptions/timeline", apiServerUrl);
-      case RECENT_COMPANIES:
-        return String.format("%s/companies/v2/companies/recent/modified", apiServerUrl);
-      case COMPANIES :
-        return String.format("%s/companies/v2/companies/paged", apiServerUrl);
-      case DEALS :
-        return String.format("%s/deals/v1/deal/paged", apiServerUrl);
-      case DEAL_PIPELINES :
-        return String.format("%s/crm-pipelines/v1/pipelines/deals", apiServerUrl);
-      case MARKETING_EMAIL :
-        return String.format("%s/marketing-emails/v1/emails", apiServerUrl);
-      case PRODUCTS :
-        return String.format("%s/crm-objects/v1/objects/products/paged", apiServerUrl);
-      case TICKETS :
-        return String.format("%s/crm-objects/v1/objects/tickets/paged", apiServerUrl);
-      case ANALYTICS :
-        return String.format("%s/analytics/v2/reports/%s/%s", apiServerUrl,
-                             sourceHubspotConfig.getReportEndpoint().getStringValue(),
-                             sourceHubspotConfig.getTimePeriod().getStringValue());
-      default :
-        return null;
+    ObjectType objectType = sourceHubspotConfig.getObjectType();
+    if (objectType == ObjectType.ANALYTICS) {
+      return String.format("%s%s/%s/%s", apiServerUrl, objectType.getPath(),
+                           sourceHubspotConfig.getReportEndpoint().getStringValue(),
+                           sourceHubspotConfig.getTimePeriod().getStringValue());
     }
+    return apiServerUrl + objectType.getPath();
   }
 
   /**
@@ -388,9 +435,20 @@ public class HubspotHelper {
    * @return the StructuredRecord
    */
   public static StructuredRecord transform(String value, SourceHubspotConfig config) {
-    StructuredRecord.Builder builder = StructuredRecord.builder(config.getSchema());
-    builder.set("objectType", config.objectType);
-    builder.set("object", value);
-    return builder.build();
+    return transform(value, config.objectType, config.getSchema());
+  }
+
+  /**
+   * Returns the StructuredRecord.
+   * @param value the value is string type
+   * @param objectType the object type
+   * @param schema the schema of the record, as returned by {@link SourceHubspotConfig#getSchema()}
+   * @return the StructuredRecord
+   */
+  public static StructuredRecord transform(String value, String objectType, Schema schema) {
+    return StructuredRecord.builder(schema)
+      .set("objectType", objectType)
+      .set("object", value)
+      .build();
   }
 }
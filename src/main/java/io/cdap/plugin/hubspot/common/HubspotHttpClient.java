@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the pooled http client shared by all Hubspot calls made from one JVM.
+ *
+ * Every user, e.g. a reader, a writer, a receiver or a config validation, {@link #acquire(BaseHubspotConfig)}s the
+ * client before its first call and {@link #release()}s it once its calls are done, including the calls of the
+ * threads it started. The pool is shut down once the last user has released it. Idle connections are evicted in
+ * the background.
+ */
+public final class HubspotHttpClient {
+  private static final Logger LOG = LoggerFactory.getLogger(HubspotHttpClient.class);
+
+  private static final long IDLE_CONNECTION_EVICTION_SECONDS = 60;
+
+  private static CloseableHttpClient client;
+  private static PoolingHttpClientConnectionManager connectionManager;
+  private static int references = 0;
+
+  private HubspotHttpClient() {
+  }
+
+  /**
+   * Registers a user of the shared client, creating the client if it does not exist yet.
+   * If the client exists, its pool grows to the max connections of the config. The keep-alive timeout is taken
+   * from the config of the user that created the client.
+   * @param config the hubspot config
+   */
+  public static synchronized void acquire(BaseHubspotConfig config) {
+    int maxConnections = config.getMaxConnections();
+    if (client == null) {
+      client = createClient(maxConnections, config.getConnectionKeepAlive());
+    } else if (maxConnections > connectionManager.getMaxTotal()) {
+      connectionManager.setMaxTotal(maxConnections);
+      connectionManager.setDefaultMaxPerRoute(maxConnections);
+    }
+    references++;
+  }
+
+  /**
+   * Unregisters a user of the shared client. The client is closed when there are no users left.
+   */
+  public static synchronized void release() {
+    if (references > 0) {
+      references--;
+    }
+    if (references == 0 && client != null) {
+      try {
+        client.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close Hubspot http client", e);
+      }
+      client = null;
+      connectionManager = null;
+    }
+  }
+
+  /**
+   * Returns the shared client.
+   * @return the shared client
+   * @throws IllegalStateException if the client is not acquired
+   */
+  static synchronized CloseableHttpClient get() {
+    if (client == null) {
+      throw new IllegalStateException("The Hubspot http client is used without being acquired.");
+    }
+    return client;
+  }
+
+  private static CloseableHttpClient createClient(int maxConnections, int keepAliveSeconds) {
+    connectionManager = new PoolingHttpClientConnectionManager();
+    // all the calls go to the same api server, so the route limit is effectively the pool limit
+    connectionManager.setMaxTotal(maxConnections);
+    connectionManager.setDefaultMaxPerRoute(maxConnections);
+
+    return HttpClientBuilder.create()
+      .setConnectionManager(connectionManager)
+      .setKeepAliveStrategy(getKeepAliveStrategy(keepAliveSeconds))
+      .evictExpiredConnections()
+      .evictIdleConnections(IDLE_CONNECTION_EVICTION_SECONDS, TimeUnit.SECONDS)
+      .build();
+  }
+
+  /**
+   * Uses the keep-alive timeout sent by the server, or the configured one if the server did not send it.
+   */
+  private static ConnectionKeepAliveStrategy getKeepAliveStrategy(int keepAliveSeconds) {
+    return (response, context) -> {
+      long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+      return serverKeepAlive > 0 ? serverKeepAlive : TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+    };
+  }
+}
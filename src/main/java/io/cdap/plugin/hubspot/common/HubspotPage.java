@@ -15,8 +15,6 @@
  */
 package io.cdap.plugin.hubspot.common;
 
-import com.google.gson.JsonElement;
-
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
@@ -27,28 +25,37 @@ import javax.annotation.Nullable;
  */
 public class HubspotPage {
 
-  private final List<JsonElement> hubspotObjects;
+  private final List<String> hubspotObjects;
   private final SourceHubspotConfig hubspotConfig;
   private final String offset;
   private final Boolean hasNext;
+  private final Long total;
+
+  public HubspotPage(List<String> hubspotObjects,
+                     SourceHubspotConfig hubspotConfig,
+                     String offset, Boolean hasNext) {
+    this(hubspotObjects, hubspotConfig, offset, hasNext, null);
+  }
 
   /**
    * Constructor for HubspotPage object.
-   * @param hubspotObjects the hubspot objects
+   * @param hubspotObjects the hubspot objects as JSON strings
    * @param hubspotConfig the hubspot config
    * @param offset the offset is string type
    * @param hasNext the hasnext is is boolean type
+   * @param total the total number of objects, if it is returned by the endpoint
    */
-  public HubspotPage(List<JsonElement> hubspotObjects,
+  public HubspotPage(List<String> hubspotObjects,
                      SourceHubspotConfig hubspotConfig,
-                     String offset, Boolean hasNext) {
+                     String offset, Boolean hasNext, @Nullable Long total) {
     this.hubspotObjects = hubspotObjects;
     this.hubspotConfig = hubspotConfig;
     this.offset = offset;
     this.hasNext = hasNext;
+    this.total = total;
   }
 
-  public Iterator<JsonElement> getIterator() {
+  public Iterator<String> getIterator() {
     return hubspotObjects.iterator();
   }
 
@@ -56,6 +63,11 @@ public class HubspotPage {
     return offset;
   }
 
+  @Nullable
+  public Long getTotal() {
+    return total;
+  }
+
   /**
    * Returns the instance of HubspotPage.
    * @return the instance of HubspotPage
@@ -67,4 +79,24 @@ public class HubspotPage {
       ? new HubspotHelper().getHubspotPage(hubspotConfig, offset)
       : null;
   }
+
+  /**
+   * Returns the next page, unless it starts at or after the given offset.
+   * @param endOffset the offset at which reading stops, or null to not stop
+   * @return the instance of HubspotPage
+   * @throws IOException on issues with data reading
+   */
+  @Nullable
+  public HubspotPage nextPage(@Nullable Long endOffset) throws IOException {
+    if (endOffset != null && offset != null) {
+      try {
+        if (Long.parseLong(offset) >= endOffset) {
+          return null;
+        }
+      } catch (NumberFormatException e) {
+        // not a positional offset, so there is nothing to compare with
+      }
+    }
+    return nextPage();
+  }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Fetches the pages following a given page on a background thread, so that network round trips overlap with
+ * the processing of the records of the current page. At most a given number of fetched pages are kept ahead of
+ * the consumer. The fetching thread holds its own reference to the shared http client, so that the client is not
+ * closed under a fetch that is still running when the consumer is closed.
+ */
+class HubspotPagePrefetcher implements Closeable {
+  private static final String PREFETCH_THREAD_NAME = "hubspot_page_prefetcher";
+  private static final Logger LOG = LoggerFactory.getLogger(HubspotPagePrefetcher.class);
+  private static final Object LAST_PAGE = new Object();
+  private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+  private final BlockingQueue<Object> pages;
+  private final ExecutorService executor;
+  @Nullable
+  private final Long endOffset;
+  private boolean finished = false;
+
+  /**
+   * Constructor for HubspotPagePrefetcher object, which starts fetching the pages following the given one.
+   * @param config the hubspot config
+   * @param page the page to start from
+   * @param depth the max number of pages fetched ahead
+   * @param endOffset the offset at which fetching stops, or null to fetch all the following pages
+   */
+  HubspotPagePrefetcher(BaseHubspotConfig config, HubspotPage page, int depth, @Nullable Long endOffset) {
+    this.endOffset = endOffset;
+    this.pages = new ArrayBlockingQueue<>(depth);
+    this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                                                        .setNameFormat(PREFETCH_THREAD_NAME + "-%d")
+                                                        .setDaemon(true)
+                                                        .build());
+    // acquired before the consumer can release its own reference, and released by the fetching thread
+    HubspotHttpClient.acquire(config);
+    try {
+      executor.submit(() -> fetch(page));
+    } catch (RuntimeException e) {
+      HubspotHttpClient.release();
+      throw e;
+    }
+  }
+
+  private void fetch(HubspotPage page) {
+    try {
+      HubspotPage nextPage = page.nextPage(endOffset);
+      while (nextPage != null && !Thread.currentThread().isInterrupted()) {
+        pages.put(nextPage);
+        nextPage = nextPage.nextPage(endOffset);
+      }
+      pages.put(LAST_PAGE);
+    } catch (InterruptedException e) {
+      // closed by the consumer
+    } catch (Exception e) {
+      try {
+        pages.put(e);
+      } catch (InterruptedException ie) {
+        // closed by the consumer
+      }
+    } finally {
+      HubspotHttpClient.release();
+    }
+  }
+
+  /**
+   * Returns the next page, waiting for it to be fetched if needed.
+   * @return the next page, or null if there are no more pages
+   * @throws IOException on issues with data reading
+   */
+  @Nullable
+  HubspotPage nextPage() throws IOException {
+    if (finished) {
+      return null;
+    }
+    Object next;
+    try {
+      next = pages.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the next page.");
+    }
+    if (next instanceof HubspotPage) {
+      return (HubspotPage) next;
+    }
+    finished = true;
+    executor.shutdown();
+    if (next instanceof IOException) {
+      throw (IOException) next;
+    }
+    if (next instanceof Exception) {
+      throw new IOException("Failed to fetch the next page", (Exception) next);
+    }
+    return null;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    try {
+      // a request in flight is not interrupted, so the thread may outlive the wait and release the client later
+      if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOG.debug("Page prefetching thread is still running after {} seconds.", CLOSE_TIMEOUT_SECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
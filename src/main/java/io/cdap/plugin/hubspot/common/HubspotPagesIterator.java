@@ -16,19 +16,30 @@
 
 package io.cdap.plugin.hubspot.common;
 
-import com.google.gson.JsonElement;
-
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nullable;
 
 /**
- * Iterates over all records in all pages.
+ * Iterates over all records in all pages. Records are returned as JSON strings.
+ * If page prefetch is enabled in the config, the following pages are fetched in the background,
+ * so the iterator must be closed once it is not used anymore.
  */
-public class HubspotPagesIterator implements Iterator<JsonElement> {
+public class HubspotPagesIterator implements Iterator<String>, Closeable {
   private HubspotPage currentPage;
-  private Iterator<JsonElement> currentPageIterator;
+  private Iterator<String> currentPageIterator;
   private int iteratorPosition = 0;
   private String currentPageOffset = null;
+  private int pagesRead = 1;
+  @Nullable
+  private final Long total;
+  @Nullable
+  private final Long endOffset;
+  @Nullable
+  private final HubspotPagePrefetcher prefetcher;
 
   /**
    * Constructor for HubspotPagesIterator object.
@@ -38,29 +49,54 @@ public class HubspotPagesIterator implements Iterator<JsonElement> {
    */
   public HubspotPagesIterator(SourceHubspotConfig config, HubspotPage currentPage,
                               String currentPageOffset) {
-    this.currentPage = currentPage;
-    this.currentPageIterator = currentPage.getIterator();
-    this.currentPageOffset = currentPageOffset;
+    this(config, currentPage, currentPageOffset, null);
   }
 
   public HubspotPagesIterator(SourceHubspotConfig config) throws IOException {
     this(config, new HubspotHelper().getHubspotPage(config, null), null);
   }
 
+  /**
+   * Constructor for HubspotPagesIterator object, which reads the pages of the given offset range.
+   * @param config the source hub spot config
+   * @param startOffset the offset of the first page, or null to start from the very first page
+   * @param endOffset the offset at which reading stops, or null to read all the following pages
+   * @throws IOException on issues with data reading
+   */
+  public HubspotPagesIterator(SourceHubspotConfig config, @Nullable String startOffset,
+                              @Nullable Long endOffset) throws IOException {
+    this(config, new HubspotHelper().getHubspotPage(config, startOffset), startOffset, endOffset);
+  }
+
+  private HubspotPagesIterator(SourceHubspotConfig config, HubspotPage currentPage,
+                               @Nullable String currentPageOffset, @Nullable Long endOffset) {
+    this.currentPage = currentPage;
+    this.currentPageIterator = currentPage.getIterator();
+    this.currentPageOffset = currentPageOffset;
+    this.endOffset = endOffset;
+    this.total = currentPage.getTotal();
+    int prefetchDepth = config.getPagePrefetchDepth();
+    this.prefetcher = prefetchDepth > 0
+      ? new HubspotPagePrefetcher(config, currentPage, prefetchDepth, endOffset)
+      : null;
+  }
+
   /**
    * Here if require, it will be switched the page.
    * @throws IOException on issues with data reading
    */
   public void switchPageIfNeeded() throws IOException {
-    if (!currentPageIterator.hasNext()) {
+    // a search page may hold no objects, if all of them were read by the previous query already
+    while (currentPageIterator != null && !currentPageIterator.hasNext()) {
       // switch page
-      HubspotPage nextPage = currentPage.nextPage();
+      HubspotPage nextPage = prefetcher == null ? currentPage.nextPage(endOffset) : prefetcher.nextPage();
 
       if (nextPage != null) {
         iteratorPosition = 0;
         currentPageOffset = currentPage.getOffset();
         currentPage = nextPage;
         currentPageIterator = currentPage.getIterator();
+        pagesRead++;
       } else {
         currentPageIterator = null;
       }
@@ -78,15 +114,41 @@ public class HubspotPagesIterator implements Iterator<JsonElement> {
   }
 
   @Override
-  public JsonElement next() {
+  public String next() {
     iteratorPosition++;
     return currentPageIterator.next();
   }
 
+  /**
+   * Returns the records of the current page which have not been read yet.
+   * Must be called only if {@link #hasNext()} returned true.
+   * @return the records left in the current page
+   */
+  public List<String> nextRecordsOfPage() {
+    List<String> records = new ArrayList<>();
+    while (currentPageIterator.hasNext()) {
+      records.add(next());
+    }
+    return records;
+  }
+
   public String getCurrentPageOffset() {
     return currentPageOffset;
   }
 
+  public int getPagesRead() {
+    return pagesRead;
+  }
+
+  /**
+   * Returns the total number of objects, as reported with the first page.
+   * @return the total number of objects, or null if the endpoint does not report it
+   */
+  @Nullable
+  public Long getTotal() {
+    return total;
+  }
+
   public int getIteratorPosition() {
     return iteratorPosition;
   }
@@ -106,4 +168,11 @@ public class HubspotPagesIterator implements Iterator<JsonElement> {
       }
     }
   }
+
+  @Override
+  public void close() {
+    if (prefetcher != null) {
+      prefetcher.close();
+    }
+  }
 }
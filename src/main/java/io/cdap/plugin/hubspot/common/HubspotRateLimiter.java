@@ -0,0 +1,185 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Token bucket which paces the requests sent to the Hubspot API, so that the portal rate limit is not exceeded.
+ *
+ * The bucket is refilled from the X-HubSpot-RateLimit-* headers of every response. Until the first response is
+ * seen requests are not delayed. Within a rate limit interval the remaining calls are spread over the rest of the
+ * interval; once they are used up, requests wait for the next interval. Limits apply per portal and app, so one
+ * instance is shared by all the readers, writers and receivers of a JVM that use the same credentials.
+ *
+ * Once the daily limit is exhausted requests are rejected. As the daily limit is reset at midnight in the time zone
+ * of the portal, which is not known, a single probe request is let through every few minutes, so that the reset is
+ * noticed from the headers of its response.
+ */
+public class HubspotRateLimiter {
+  private static final Logger LOG = LoggerFactory.getLogger(HubspotRateLimiter.class);
+
+  static final String MAX_HEADER = "X-HubSpot-RateLimit-Max";
+  static final String REMAINING_HEADER = "X-HubSpot-RateLimit-Remaining";
+  static final String INTERVAL_HEADER = "X-HubSpot-RateLimit-Interval-Milliseconds";
+  static final String DAILY_REMAINING_HEADER = "X-HubSpot-RateLimit-Daily-Remaining";
+
+  private static final int TOO_MANY_REQUESTS = 429;
+  static final long DAILY_LIMIT_PROBE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final ConcurrentMap<String, HubspotRateLimiter> INSTANCES = new ConcurrentHashMap<>();
+
+  private long intervalMillis = -1;
+  private int max = -1;
+  private int remaining = -1;
+  private long windowEnd = 0;
+  private long nextRequestAt = 0;
+  private long dailyRemaining = -1;
+  private long dailyRemainingCheckedAt = 0;
+
+  /**
+   * Returns the rate limiter of the credentials of the given config.
+   * @param config the hubspot config
+   * @return the rate limiter shared by the users of the same credentials
+   */
+  public static HubspotRateLimiter getInstance(BaseHubspotConfig config) {
+    String accessToken = config.getAccessToken();
+    String credentials = accessToken != null && !accessToken.isEmpty() ? accessToken : config.getApiKey();
+    return INSTANCES.computeIfAbsent(credentials == null ? "" : credentials, key -> new HubspotRateLimiter());
+  }
+
+  /**
+   * Waits until the next request can be sent without exceeding the rate limit.
+   * @throws IOException if the daily limit is exhausted or the thread is interrupted while waiting
+   */
+  public void acquire() throws IOException {
+    long delay = reserve(System.currentTimeMillis());
+    if (delay <= 0) {
+      return;
+    }
+    LOG.debug("Waiting {} ms for the Hubspot rate limit.", delay);
+    try {
+      TimeUnit.MILLISECONDS.sleep(delay);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the Hubspot rate limit.");
+    }
+  }
+
+  /**
+   * Refills the bucket from the rate limit headers of the response.
+   * @param response the response of the Hubspot API
+   */
+  public void update(HttpResponse response) {
+    Long newMax = getHeaderValue(response, MAX_HEADER);
+    Long newRemaining = getHeaderValue(response, REMAINING_HEADER);
+    Long newInterval = getHeaderValue(response, INTERVAL_HEADER);
+    Long newDailyRemaining = getHeaderValue(response, DAILY_REMAINING_HEADER);
+    boolean limited = response.getStatusLine().getStatusCode() == TOO_MANY_REQUESTS;
+    update(System.currentTimeMillis(), newMax, newRemaining, newInterval, newDailyRemaining, limited);
+  }
+
+  /**
+   * Returns the number of calls known to be left in the current rate limit interval, or -1 if it is unknown.
+   * @return the number of calls left
+   */
+  public synchronized int getRemaining() {
+    return System.currentTimeMillis() < windowEnd ? remaining : max;
+  }
+
+  synchronized long reserve(long now) throws IOException {
+    if (dailyRemaining == 0) {
+      if (now - dailyRemainingCheckedAt < DAILY_LIMIT_PROBE_INTERVAL_MILLIS) {
+        throw new IOException("The Hubspot daily API call limit is exhausted.");
+      }
+      // let one request through to see whether the daily limit has been reset, the others keep being rejected
+      dailyRemainingCheckedAt = now;
+    }
+    if (intervalMillis <= 0 || remaining < 0) {
+      // nothing is known about the limit yet
+      return 0;
+    }
+    long start = Math.max(now, nextRequestAt);
+    if (start >= windowEnd) {
+      // the interval is over, so the bucket was refilled by the server
+      remaining = max;
+      windowEnd = start + intervalMillis;
+    }
+    if (remaining == 0) {
+      start = windowEnd;
+      remaining = max;
+      windowEnd = start + intervalMillis;
+    }
+    if (remaining > 0) {
+      nextRequestAt = start + (windowEnd - start) / remaining;
+      remaining--;
+    }
+    return start - now;
+  }
+
+  synchronized void update(long now, @Nullable Long newMax, @Nullable Long newRemaining,
+                           @Nullable Long newInterval, @Nullable Long newDailyRemaining, boolean limited) {
+    if (newInterval != null && newInterval > 0) {
+      intervalMillis = newInterval;
+    }
+    if (newMax != null) {
+      max = newMax.intValue();
+    }
+    if (newDailyRemaining != null) {
+      if (newDailyRemaining == 0 && dailyRemaining != 0) {
+        dailyRemainingCheckedAt = now;
+      }
+      dailyRemaining = newDailyRemaining;
+    } else if (dailyRemaining == 0 && !limited) {
+      // a response without the daily header which is not rejected means calls are allowed again
+      dailyRemaining = -1;
+    }
+    if (newRemaining != null && intervalMillis > 0) {
+      // more calls left than we counted means the server has started a new interval
+      if (remaining < 0 || now >= windowEnd || newRemaining > remaining) {
+        windowEnd = now + intervalMillis;
+      }
+      remaining = newRemaining.intValue();
+    }
+    if (limited && intervalMillis > 0) {
+      remaining = 0;
+      windowEnd = Math.max(windowEnd, now + intervalMillis);
+    }
+  }
+
+  @Nullable
+  private static Long getHeaderValue(HttpResponse response, String name) {
+    Header header = response.getFirstHeader(name);
+    if (header == null) {
+      return null;
+    }
+    try {
+      return Long.parseLong(header.getValue().trim());
+    } catch (NumberFormatException e) {
+      LOG.debug("Ignoring invalid value '{}' of header '{}'.", header.getValue(), name);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Reads CRM objects modified since a given time, or matching a filter, with the CRM search API.
+ *
+ * Objects are sorted by their last modification date. The search API returns at most 10,000 objects per query,
+ * so once a query is exhausted the search continues with a new query, starting from the modification date of
+ * the last object read. The objects modified at that very moment are returned again by the new query, and skipped.
+ *
+ * The offset of a search page consists of the lower bound of the modification date, the paging cursor of the
+ * query, the latest modification date read, and the ids of the objects read that were modified at that date,
+ * separated by colons.
+ */
+final class HubspotSearch {
+  private static final JsonParser JSON_PARSER = new JsonParser();
+  private static final String OFFSET_SEPARATOR = ":";
+  private static final String ID_SEPARATOR = ",";
+  private static final long MAX_RESULTS_PER_QUERY = 10000;
+  /**
+   * Maximum number of filters on the modification date added to every filter group.
+   */
+  static final int MODIFIED_DATE_FILTERS = 2;
+
+  private HubspotSearch() {
+  }
+
+  /**
+   * Returns true if objects of the type can be searched by their modification date.
+   * @param objectType the object type
+   * @return true if objects of the type can be searched
+   */
+  static boolean isSupported(ObjectType objectType) {
+    return objectType.getCrmObjectName() != null;
+  }
+
+  static HttpRequestBase getRequest(SourceHubspotConfig config, @Nullable String offset) {
+    String since = config.getModifiedSince();
+    String after = null;
+    if (offset != null) {
+      String[] parts = offset.split(OFFSET_SEPARATOR, -1);
+      since = parts[0].isEmpty() ? null : parts[0];
+      after = parts.length > 1 && !parts[1].isEmpty() ? parts[1] : null;
+    }
+    String modifiedDateProperty = getModifiedDateProperty(config.getObjectType());
+
+    JsonObject body = new JsonObject();
+    JsonArray modifiedDateFilters = new JsonArray();
+    if (since != null) {
+      modifiedDateFilters.add(getFilter(modifiedDateProperty, "GTE", since));
+    }
+    if (config.getModifiedBefore() != null) {
+      modifiedDateFilters.add(getFilter(modifiedDateProperty, "LT", config.getModifiedBefore()));
+    }
+    JsonArray filterGroups = new JsonArray();
+    if (config.getSearchFilter() != null) {
+      // groups are ORed, so the modification date window has to be part of every group
+      filterGroups = HubspotSearchFilter.parse(config.getSearchFilter(), modifiedDateFilters.size());
+      for (JsonElement filterGroup : filterGroups) {
+        filterGroup.getAsJsonObject().getAsJsonArray("filters").addAll(modifiedDateFilters);
+      }
+    } else if (modifiedDateFilters.size() > 0) {
+      JsonObject filterGroup = new JsonObject();
+      filterGroup.add("filters", modifiedDateFilters);
+      filterGroups.add(filterGroup);
+    }
+    body.add("filterGroups", filterGroups);
+    JsonObject sort = new JsonObject();
+    sort.addProperty("propertyName", modifiedDateProperty);
+    sort.addProperty("direction", "ASCENDING");
+    JsonArray sorts = new JsonArray();
+    sorts.add(sort);
+    body.add("sorts", sorts);
+    if (!config.getSelectedProperties().isEmpty()) {
+      JsonArray properties = new JsonArray();
+      config.getSelectedProperties().forEach(properties::add);
+      body.add("properties", properties);
+    }
+    body.addProperty("limit", config.getPageSize());
+    if (after != null) {
+      body.addProperty("after", after);
+    }
+
+    HttpPost request = new HttpPost(String.format("%s/crm/v3/objects/%s/search", config.getApiServerUrl(),
+                                                  config.getObjectType().getCrmObjectName()));
+    request.setEntity(new StringEntity(body.toString(), ContentType.APPLICATION_JSON));
+    return HubspotHelper.addCredentialsToRequest(request, config);
+  }
+
+  static HubspotPage parseJson(SourceHubspotConfig config, @Nullable String offset,
+                               JsonReader reader) throws IOException {
+    String[] offsetParts = offset == null ? new String[0] : offset.split(OFFSET_SEPARATOR, -1);
+    // the latest modification date read, and the objects read that were modified at that date
+    String lastModified = offsetParts.length > 2 && !offsetParts[2].isEmpty() ? offsetParts[2] : null;
+    Set<String> lastModifiedIds = new LinkedHashSet<>();
+    if (offsetParts.length > 3 && !offsetParts[3].isEmpty()) {
+      lastModifiedIds.addAll(Arrays.asList(offsetParts[3].split(ID_SEPARATOR)));
+    }
+
+    List<String> hubspotObjects = new ArrayList<>();
+    String after = null;
+    String total = null;
+    boolean objectsFound = false;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (name.equals("results") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+        objectsFound = true;
+        reader.beginArray();
+        while (reader.hasNext()) {
+          String object = HubspotHelper.readRawJson(reader);
+          JsonObject json = JSON_PARSER.parse(object).getAsJsonObject();
+          String modified = getLastModified(json);
+          String id = getId(json);
+          if (!modified.equals(lastModified)) {
+            lastModified = modified;
+            lastModifiedIds.clear();
+          } else if (lastModifiedIds.contains(id)) {
+            // read by the previous query already
+            continue;
+          }
+          lastModifiedIds.add(id);
+          hubspotObjects.add(object);
+        }
+        reader.endArray();
+      } else if (name.equals("paging") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+        after = HubspotHelper.readNextAfter(reader);
+      } else if (name.equals("total") && reader.peek() == JsonToken.NUMBER) {
+        total = reader.nextString();
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    if (!objectsFound) {
+      throw new IOException("Not expected JSON response format, 'results' element not found or wrong type");
+    }
+
+    String since = offset == null ? config.getModifiedSince() : offsetParts[0];
+    String lastRead = (lastModified == null ? "" : lastModified) + OFFSET_SEPARATOR
+      + String.join(ID_SEPARATOR, lastModifiedIds);
+    String nextOffset = null;
+    if (after != null && Long.parseLong(after) < MAX_RESULTS_PER_QUERY) {
+      nextOffset = (since == null ? "" : since) + OFFSET_SEPARATOR + after + OFFSET_SEPARATOR + lastRead;
+    } else if (after != null) {
+      // the query is exhausted, continue with a new one from the last object read
+      if (lastModified == null || lastModified.equals(since)) {
+        throw new IOException(String.format("More than %d objects were modified at '%s', they can not be searched.",
+                                            MAX_RESULTS_PER_QUERY, since));
+      }
+      nextOffset = lastModified + OFFSET_SEPARATOR + OFFSET_SEPARATOR + lastRead;
+    }
+    Long parsedTotal = total == null ? null : Long.valueOf(total);
+    return new HubspotPage(hubspotObjects, config, nextOffset, nextOffset != null, parsedTotal);
+  }
+
+  private static JsonObject getFilter(String propertyName, String operator, String value) {
+    JsonObject filter = new JsonObject();
+    filter.addProperty("propertyName", propertyName);
+    filter.addProperty("operator", operator);
+    filter.addProperty("value", value);
+    return filter;
+  }
+
+  static String getLastModified(String object) throws IOException {
+    return getLastModified(JSON_PARSER.parse(object).getAsJsonObject());
+  }
+
+  private static String getLastModified(JsonObject object) throws IOException {
+    JsonElement updatedAt = object.get("updatedAt");
+    if (updatedAt == null || !updatedAt.isJsonPrimitive()) {
+      throw new IOException("Not expected JSON response format, 'updatedAt' element not found or wrong type");
+    }
+    try {
+      return String.valueOf(Instant.parse(updatedAt.getAsString()).toEpochMilli());
+    } catch (DateTimeParseException e) {
+      throw new IOException(String.format("Not expected modification date '%s'.", updatedAt.getAsString()), e);
+    }
+  }
+
+  private static String getId(JsonObject object) throws IOException {
+    JsonElement id = object.get("id");
+    if (id == null || !id.isJsonPrimitive()) {
+      throw new IOException("Not expected JSON response format, 'id' element not found or wrong type");
+    }
+    return id.getAsString();
+  }
+
+  private static String getModifiedDateProperty(ObjectType objectType) {
+    return objectType == ObjectType.CONTACTS ? "lastmodifieddate" : "hs_lastmodifieddate";
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compiles a filter expression into the filter groups of a CRM search request.
+ *
+ * The expression consists of conditions joined by AND, and of groups of such conditions joined by OR. AND binds
+ * tighter than OR, parentheses are not supported. A condition is one of
+ * <ul>
+ *   <li>{@code property = value}, with the operators {@code =, !=, <, <=, >, >=}</li>
+ *   <li>{@code property IN (value, ...)} and {@code property NOT IN (value, ...)}</li>
+ *   <li>{@code property HAS_PROPERTY} and {@code property NOT_HAS_PROPERTY}</li>
+ * </ul>
+ * Values containing spaces or special characters are enclosed in single quotes, a quote within a quoted value is
+ * written as two quotes.
+ */
+final class HubspotSearchFilter {
+  /**
+   * Maximum number of filter groups in one search request.
+   */
+  static final int MAX_FILTER_GROUPS = 5;
+  /**
+   * Maximum number of filters in one filter group of a search request.
+   */
+  static final int MAX_FILTERS_PER_GROUP = 6;
+  /**
+   * Maximum number of filters in all the filter groups of a search request.
+   */
+  static final int MAX_FILTERS = 18;
+
+  private static final String SPECIAL_CHARACTERS = "()=!<>,'";
+
+  private final List<String> tokens;
+  private final int maxFiltersPerGroup;
+  private int position;
+
+  private HubspotSearchFilter(List<String> tokens, int maxFiltersPerGroup) {
+    this.tokens = tokens;
+    this.maxFiltersPerGroup = maxFiltersPerGroup;
+  }
+
+  /**
+   * Compiles the filter expression.
+   * @param expression the filter expression
+   * @param reservedFiltersPerGroup the number of filters added to every group besides the ones of the expression
+   * @return the filter groups, each of them holding a 'filters' array
+   * @throws IllegalArgumentException if the expression is not valid
+   */
+  static JsonArray parse(String expression, int reservedFiltersPerGroup) {
+    HubspotSearchFilter filter = new HubspotSearchFilter(tokenize(expression),
+                                                         MAX_FILTERS_PER_GROUP - reservedFiltersPerGroup);
+    JsonArray filterGroups = filter.parseExpression();
+    if (filterGroups.size() > MAX_FILTER_GROUPS) {
+      throw new IllegalArgumentException(String.format("The filter has %d OR groups, at most %d are allowed.",
+                                                       filterGroups.size(), MAX_FILTER_GROUPS));
+    }
+    int filterCount = 0;
+    for (int i = 0; i < filterGroups.size(); i++) {
+      filterCount += filterGroups.get(i).getAsJsonObject().getAsJsonArray("filters").size();
+    }
+    int maxFilters = MAX_FILTERS - reservedFiltersPerGroup * filterGroups.size();
+    if (filterCount > maxFilters) {
+      throw new IllegalArgumentException(String.format("The filter has %d conditions, at most %d are allowed.",
+                                                       filterCount, maxFilters));
+    }
+    return filterGroups;
+  }
+
+  private JsonArray parseExpression() {
+    JsonArray filterGroups = new JsonArray();
+    do {
+      filterGroups.add(parseGroup());
+    } while (acceptKeyword("OR"));
+    if (position < tokens.size()) {
+      throw new IllegalArgumentException(String.format("Unexpected '%s' in the filter.", tokens.get(position)));
+    }
+    return filterGroups;
+  }
+
+  private JsonObject parseGroup() {
+    JsonArray filters = new JsonArray();
+    do {
+      filters.add(parseCondition());
+    } while (acceptKeyword("AND"));
+    if (filters.size() > maxFiltersPerGroup) {
+      throw new IllegalArgumentException(String.format("A group of the filter has %d conditions, at most %d are " +
+                                                         "allowed.", filters.size(), maxFiltersPerGroup));
+    }
+    JsonObject filterGroup = new JsonObject();
+    filterGroup.add("filters", filters);
+    return filterGroup;
+  }
+
+  private JsonObject parseCondition() {
+    String propertyName = nextValue("property name");
+    JsonObject filter = new JsonObject();
+    filter.addProperty("propertyName", propertyName);
+    if (acceptKeyword("HAS_PROPERTY")) {
+      filter.addProperty("operator", "HAS_PROPERTY");
+    } else if (acceptKeyword("NOT_HAS_PROPERTY")) {
+      filter.addProperty("operator", "NOT_HAS_PROPERTY");
+    } else if (acceptKeyword("IN")) {
+      filter.addProperty("operator", "IN");
+      filter.add("values", parseValues());
+    } else if (acceptKeyword("NOT")) {
+      expect("IN");
+      filter.addProperty("operator", "NOT_IN");
+      filter.add("values", parseValues());
+    } else {
+      filter.addProperty("operator", parseOperator(propertyName));
+      filter.addProperty("value", nextValue("value"));
+    }
+    return filter;
+  }
+
+  private String parseOperator(String propertyName) {
+    String token = position < tokens.size() ? tokens.get(position++) : "";
+    switch (token) {
+      case "=":
+        return "EQ";
+      case "!=":
+        return "NEQ";
+      case "<":
+        return "LT";
+      case "<=":
+        return "LTE";
+      case ">":
+        return "GT";
+      case ">=":
+        return "GTE";
+      default:
+        throw new IllegalArgumentException(String.format("Expected an operator after '%s' in the filter.",
+                                                         propertyName));
+    }
+  }
+
+  private JsonArray parseValues() {
+    expect("(");
+    JsonArray values = new JsonArray();
+    do {
+      values.add(nextValue("value"));
+    } while (accept(","));
+    expect(")");
+    return values;
+  }
+
+  private String nextValue(String description) {
+    if (position >= tokens.size()) {
+      throw new IllegalArgumentException(String.format("Expected a %s at the end of the filter.", description));
+    }
+    String token = tokens.get(position++);
+    if (token.startsWith("'")) {
+      return token.substring(1, token.length() - 1).replace("''", "'");
+    }
+    if (token.length() == 1 && SPECIAL_CHARACTERS.contains(token) || token.equals("!=") || token.equals("<=")
+      || token.equals(">=")) {
+      throw new IllegalArgumentException(String.format("Expected a %s instead of '%s' in the filter.",
+                                                       description, token));
+    }
+    return token;
+  }
+
+  private boolean acceptKeyword(String keyword) {
+    if (position < tokens.size() && tokens.get(position).toUpperCase(Locale.ROOT).equals(keyword)) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private boolean accept(String token) {
+    if (position < tokens.size() && tokens.get(position).equals(token)) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private void expect(String token) {
+    if (!(token.equals("IN") ? acceptKeyword(token) : accept(token))) {
+      throw new IllegalArgumentException(String.format("Expected '%s' in the filter.", token));
+    }
+  }
+
+  private static List<String> tokenize(String expression) {
+    List<String> tokens = new ArrayList<>();
+    int i = 0;
+    while (i < expression.length()) {
+      char c = expression.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '\'') {
+        int end = i + 1;
+        while (true) {
+          end = expression.indexOf('\'', end);
+          if (end < 0) {
+            throw new IllegalArgumentException("Unterminated quoted value in the filter.");
+          }
+          if (end + 1 < expression.length() && expression.charAt(end + 1) == '\'') {
+            end += 2;
+          } else {
+            break;
+          }
+        }
+        tokens.add(expression.substring(i, end + 1));
+        i = end + 1;
+      } else if ((c == '!' || c == '<' || c == '>') && i + 1 < expression.length()
+        && expression.charAt(i + 1) == '=') {
+        tokens.add(expression.substring(i, i + 2));
+        i += 2;
+      } else if (SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+        tokens.add(String.valueOf(c));
+        i++;
+      } else {
+        int end = i;
+        while (end < expression.length() && !Character.isWhitespace(expression.charAt(end))
+          && SPECIAL_CHARACTERS.indexOf(expression.charAt(end)) < 0) {
+          end++;
+        }
+        tokens.add(expression.substring(i, end));
+        i = end;
+      }
+    }
+    if (tokens.isEmpty()) {
+      throw new IllegalArgumentException("The filter is empty.");
+    }
+    return tokens;
+  }
+}
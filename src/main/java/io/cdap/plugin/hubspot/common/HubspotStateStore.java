@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nullable;
+
+/**
+ * Stores a small piece of state, such as a high-water mark or a read position, in a file.
+ * The path may point to any file system supported by Hadoop, e.g. HDFS or GCS.
+ *
+ * The state is written to a temporary file which then replaces the state file, so a failed write leaves
+ * the previous state in place.
+ */
+public class HubspotStateStore {
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+
+  private final Path path;
+  private final Configuration configuration;
+
+  public HubspotStateStore(String path) {
+    this(path, new Configuration());
+  }
+
+  public HubspotStateStore(String path, Configuration configuration) {
+    this.path = new Path(path);
+    this.configuration = configuration;
+  }
+
+  /**
+   * Returns the stored state.
+   * @return the stored state, or null if nothing has been stored yet
+   * @throws IOException on issues with reading the state file
+   */
+  @Nullable
+  public String read() throws IOException {
+    FileSystem fileSystem = path.getFileSystem(configuration);
+    if (!fileSystem.exists(path)) {
+      return null;
+    }
+    try (InputStream in = fileSystem.open(path)) {
+      ByteArrayOutputStream content = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        content.write(buffer, 0, read);
+      }
+      return new String(content.toByteArray(), StandardCharsets.UTF_8).trim();
+    }
+  }
+
+  /**
+   * Replaces the stored state.
+   * @param state the state to store
+   * @throws IOException on issues with writing the state file
+   */
+  public void write(String state) throws IOException {
+    FileSystem fileSystem = path.getFileSystem(configuration);
+    Path temporaryPath = new Path(path.getParent(), path.getName() + TEMPORARY_SUFFIX);
+    try (FSDataOutputStream out = fileSystem.create(temporaryPath, true)) {
+      out.write(state.getBytes(StandardCharsets.UTF_8));
+    }
+    if (fileSystem.exists(path) && !fileSystem.delete(path, false)) {
+      throw new IOException(String.format("Failed to replace state file '%s'.", path));
+    }
+    if (!fileSystem.rename(temporaryPath, path)) {
+      throw new IOException(String.format("Failed to move state to '%s'.", path));
+    }
+  }
+}
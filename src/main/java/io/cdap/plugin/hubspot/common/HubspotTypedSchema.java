@@ -0,0 +1,282 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.ContentType;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Builds a typed output schema out of the property definitions of a CRM object type and converts objects in the
+ * CRM v3 format into records of that schema.
+ *
+ * The properties of an object are kept in the nested 'properties' record, next to the id, the creation and
+ * modification times and the archived flag of the object.
+ */
+public final class HubspotTypedSchema {
+  private static final String PROPERTIES = "properties";
+
+  private HubspotTypedSchema() {
+  }
+
+  /**
+   * Returns the schema of the configured object type, with the configured properties, the properties of the
+   * configured output schema, or all the properties defined for the object type.
+   * @param config the source hubspot config
+   * @return the typed schema
+   * @throws IOException on issues with reading the property definitions
+   */
+  public static Schema getSchema(SourceHubspotConfig config) throws IOException {
+    Map<String, String> propertyTypes = getPropertyTypes(config);
+    List<String> propertyNames = config.getSelectedProperties();
+    if (propertyNames.isEmpty()) {
+      Schema configuredSchema = config.getConfiguredSchema();
+      // the schema of the untyped output, e.g. the initial schema of the UI, does not select any properties
+      propertyNames = configuredSchema == null || configuredSchema.getField(PROPERTIES) == null
+        ? new ArrayList<>(propertyTypes.keySet())
+        : getPropertyNames(configuredSchema);
+    }
+
+    List<Schema.Field> propertyFields = new ArrayList<>();
+    for (String propertyName : propertyNames) {
+      String type = propertyTypes.get(propertyName);
+      if (type == null) {
+        throw new IOException(String.format("Property '%s' is not defined for Object Type '%s'.",
+                                            propertyName, config.objectType));
+      }
+      propertyFields.add(Schema.Field.of(propertyName, Schema.nullableOf(getPropertySchema(type))));
+    }
+
+    List<Schema.Field> fields = new ArrayList<>();
+    fields.add(Schema.Field.of("objectType", Schema.nullableOf(Schema.of(Schema.Type.STRING))));
+    fields.add(Schema.Field.of("id", Schema.nullableOf(Schema.of(Schema.Type.STRING))));
+    fields.add(Schema.Field.of("createdAt", Schema.nullableOf(Schema.of(Schema.LogicalType.TIMESTAMP_MICROS))));
+    fields.add(Schema.Field.of("updatedAt", Schema.nullableOf(Schema.of(Schema.LogicalType.TIMESTAMP_MICROS))));
+    fields.add(Schema.Field.of("archived", Schema.nullableOf(Schema.of(Schema.Type.BOOLEAN))));
+    fields.add(Schema.Field.of(PROPERTIES, Schema.nullableOf(Schema.recordOf(PROPERTIES, propertyFields))));
+    return Schema.recordOf("etlSchemaBody", fields);
+  }
+
+  /**
+   * Returns the names of the properties of the typed schema.
+   * @param schema the typed schema
+   * @return the property names
+   */
+  public static List<String> getPropertyNames(Schema schema) {
+    List<String> propertyNames = new ArrayList<>();
+    for (Schema.Field field : getNonNullable(schema.getField(PROPERTIES).getSchema()).getFields()) {
+      propertyNames.add(field.getName());
+    }
+    return propertyNames;
+  }
+
+  /**
+   * Converts the object into a record of the typed schema. The object is read in one pass, properties which are
+   * not part of the schema are skipped.
+   * @param value the object in the CRM v3 format
+   * @param objectType the object type
+   * @param schema the typed schema
+   * @return the record
+   */
+  public static StructuredRecord transform(String value, String objectType, Schema schema) {
+    StructuredRecord.Builder builder = StructuredRecord.builder(schema);
+    builder.set("objectType", objectType);
+    try (JsonReader reader = new JsonReader(new StringReader(value))) {
+      reader.setLenient(true);
+      reader.beginObject();
+      while (reader.hasNext()) {
+        String name = reader.nextName();
+        Schema.Field field = schema.getField(name);
+        if (field == null || name.equals("objectType")) {
+          reader.skipValue();
+        } else if (name.equals(PROPERTIES) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+          builder.set(name, readProperties(reader, getNonNullable(field.getSchema())));
+        } else {
+          setValue(builder, field, reader);
+        }
+      }
+      reader.endObject();
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Not expected JSON format of the Hubspot object.", e);
+    }
+    return builder.build();
+  }
+
+  private static StructuredRecord readProperties(JsonReader reader, Schema schema) throws IOException {
+    StructuredRecord.Builder builder = StructuredRecord.builder(schema);
+    reader.beginObject();
+    while (reader.hasNext()) {
+      Schema.Field field = schema.getField(reader.nextName());
+      if (field == null) {
+        reader.skipValue();
+      } else {
+        setValue(builder, field, reader);
+      }
+    }
+    reader.endObject();
+    return builder.build();
+  }
+
+  private static void setValue(StructuredRecord.Builder builder, Schema.Field field,
+                               JsonReader reader) throws IOException {
+    String value = readString(reader);
+    // Hubspot sends empty strings for properties which are not set
+    if (value == null || value.isEmpty()) {
+      return;
+    }
+    String name = field.getName();
+    Schema schema = getNonNullable(field.getSchema());
+    try {
+      if (schema.getLogicalType() == Schema.LogicalType.TIMESTAMP_MICROS) {
+        builder.setTimestamp(name, ZonedDateTime.ofInstant(parseInstant(value), ZoneOffset.UTC));
+      } else if (schema.getLogicalType() == Schema.LogicalType.DATE) {
+        builder.setDate(name, value.length() == 10
+          ? LocalDate.parse(value)
+          : parseInstant(value).atZone(ZoneOffset.UTC).toLocalDate());
+      } else if (schema.getType() == Schema.Type.DOUBLE) {
+        builder.set(name, Double.parseDouble(value));
+      } else if (schema.getType() == Schema.Type.BOOLEAN) {
+        builder.set(name, Boolean.parseBoolean(value));
+      } else {
+        builder.set(name, value);
+      }
+    } catch (NumberFormatException | DateTimeParseException e) {
+      throw new IllegalArgumentException(String.format("Value '%s' of property '%s' is not valid.", value, name), e);
+    }
+  }
+
+  @Nullable
+  private static String readString(JsonReader reader) throws IOException {
+    switch (reader.peek()) {
+      case NULL:
+        reader.nextNull();
+        return null;
+      case BOOLEAN:
+        return String.valueOf(reader.nextBoolean());
+      case BEGIN_OBJECT:
+      case BEGIN_ARRAY:
+        return HubspotHelper.readRawJson(reader);
+      default:
+        return reader.nextString();
+    }
+  }
+
+  private static Instant parseInstant(String value) {
+    // date properties are sent as milliseconds since the epoch by some endpoints
+    return value.chars().allMatch(Character::isDigit)
+      ? Instant.ofEpochMilli(Long.parseLong(value))
+      : Instant.parse(value);
+  }
+
+  private static Schema getPropertySchema(String type) {
+    switch (type) {
+      case "number":
+        return Schema.of(Schema.Type.DOUBLE);
+      case "bool":
+        return Schema.of(Schema.Type.BOOLEAN);
+      case "date":
+        return Schema.of(Schema.LogicalType.DATE);
+      case "datetime":
+        return Schema.of(Schema.LogicalType.TIMESTAMP_MICROS);
+      default:
+        return Schema.of(Schema.Type.STRING);
+    }
+  }
+
+  private static Schema getNonNullable(Schema schema) {
+    return schema.isNullable() ? schema.getNonNullable() : schema;
+  }
+
+  /**
+   * Reads the names and types of the properties defined for the object type, in the order they are defined in.
+   */
+  private static Map<String, String> getPropertyTypes(SourceHubspotConfig config) throws IOException {
+    HttpGet request = new HttpGet(String.format("%s/crm/v3/properties/%s", config.getApiServerUrl(),
+                                                config.getObjectType().getCrmObjectName()));
+    HubspotHelper.addCredentialsToRequest(request, config);
+    Map<String, String> propertyTypes = new LinkedHashMap<>();
+    HubspotHttpClient.acquire(config);
+    try (CloseableHttpResponse response = HubspotHelper.executeRequestWithRetries(request, config)) {
+      HttpEntity entity = response.getEntity();
+      if (entity == null) {
+        throw new IOException("Empty response of the Hubspot properties API.");
+      }
+      Charset charset = ContentType.getOrDefault(entity).getCharset();
+      try (JsonReader reader = new JsonReader(new InputStreamReader(
+        entity.getContent(), charset == null ? StandardCharsets.UTF_8 : charset))) {
+        reader.setLenient(true);
+        reader.beginObject();
+        while (reader.hasNext()) {
+          if (reader.nextName().equals("results") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+              readPropertyDefinition(reader, propertyTypes);
+            }
+            reader.endArray();
+          } else {
+            reader.skipValue();
+          }
+        }
+        reader.endObject();
+      }
+    } finally {
+      HubspotHttpClient.release();
+    }
+    return propertyTypes;
+  }
+
+  private static void readPropertyDefinition(JsonReader reader, Map<String, String> propertyTypes)
+    throws IOException {
+    String name = null;
+    String type = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String element = reader.nextName();
+      if (element.equals("name") && reader.peek() == JsonToken.STRING) {
+        name = reader.nextString();
+      } else if (element.equals("type") && reader.peek() == JsonToken.STRING) {
+        type = reader.nextString();
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    if (name != null) {
+      propertyTypes.put(name, type == null ? "string" : type);
+    }
+  }
+}
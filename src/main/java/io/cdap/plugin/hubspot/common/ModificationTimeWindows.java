@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Splits the objects read with the CRM search API into modification time windows, which can be read in parallel.
+ */
+public final class ModificationTimeWindows {
+
+  private ModificationTimeWindows() {
+  }
+
+  /**
+   * Returns the modification time of the least recently modified object matching the configuration.
+   * @param config the source hubspot config, reading objects with the CRM search API
+   * @return the time in milliseconds since the epoch, or null if no object matches
+   * @throws IOException on issues with data reading
+   */
+  @Nullable
+  public static Long getEarliestModification(SourceHubspotConfig config) throws IOException {
+    // search results are sorted by the modification date, so the first object is the least recently modified one
+    HubspotPage firstPage = new HubspotHelper().getHubspotPage(config, null);
+    Iterator<String> objects = firstPage == null ? null : firstPage.getIterator();
+    if (objects == null || !objects.hasNext()) {
+      return null;
+    }
+    return Long.parseLong(HubspotSearch.getLastModified(objects.next()));
+  }
+
+  /**
+   * Splits the time range into at most the given number of windows of equal length.
+   * @param start the start of the range, inclusive
+   * @param end the end of the range, exclusive
+   * @param maxWindows the maximum number of windows
+   * @return the windows as pairs of their start and end, or an empty list if the range is empty
+   */
+  public static List<long[]> split(long start, long end, int maxWindows) {
+    List<long[]> windows = new ArrayList<>();
+    if (start >= end) {
+      return windows;
+    }
+    long count = Math.max(1, Math.min(maxWindows, end - start));
+    long windowSize = (end - start + count - 1) / count;
+    for (long windowStart = start; windowStart < end; windowStart += windowSize) {
+      windows.add(new long[] {windowStart, Math.min(windowStart + windowSize, end)});
+    }
+    return windows;
+  }
+}
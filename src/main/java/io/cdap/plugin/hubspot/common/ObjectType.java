@@ -17,6 +17,7 @@
 package io.cdap.plugin.hubspot.common;
 
 import java.util.Arrays;
+import javax.annotation.Nullable;
 
 /**
  * Convenience enum to map ObjectType UI selections to meaningful values.
@@ -26,23 +27,139 @@ import java.util.Arrays;
  */
 public enum ObjectType {
 
-  CONTACT_LISTS("Contact Lists"),
-  CONTACTS("Contacts"),
-  EMAIL_EVENTS("Email Events"),
-  EMAIL_SUBSCRIPTION("Email Subscription"),
-  RECENT_COMPANIES("Recent Companies"),
-  ANALYTICS("Analytics"),
-  COMPANIES("Companies"),
-  DEALS("Deals"),
-  DEAL_PIPELINES("Deal Pipelines"),
-  MARKETING_EMAIL("Marketing Email"),
-  PRODUCTS("Products"),
-  TICKETS("Tickets");
+  CONTACT_LISTS("Contact Lists", "/contacts/v1/lists",
+                "lists", "count", "offset", "offset", "has-more", null, null, 250),
+  CONTACTS("Contacts", "/contacts/v1/lists/all/contacts/all",
+           "contacts", "count", "vidOffset", "vid-offset", "has-more", "property", "contacts", 100),
+  EMAIL_EVENTS("Email Events", "/email/public/v1/events",
+               "events", "limit", "offset", "offset", "hasMore", null, null, 1000),
+  EMAIL_SUBSCRIPTION("Email Subscription", "/email/public/v1/subscriptions/timeline",
+                     "timeline", "limit", "offset", "offset", "hasMore", null, null, 1000),
+  RECENT_COMPANIES("Recent Companies", "/companies/v2/companies/recent/modified",
+                   "results", "count", "offset", "offset", "hasMore", null, null, 100),
+  ANALYTICS("Analytics", "/analytics/v2/reports",
+            "breakdowns", "limit", "offset", "offset", null, null, null, 100),
+  COMPANIES("Companies", "/companies/v2/companies/paged",
+            "companies", "count", "offset", "offset", "has-more", "properties", "companies", 250),
+  DEALS("Deals", "/deals/v1/deal/paged",
+        "deals", "limit", "offset", "offset", "hasMore", "properties", "deals", 250),
+  DEAL_PIPELINES("Deal Pipelines", "/crm-pipelines/v1/pipelines/deals",
+                 "results", null, null, null, null, null, null, 100),
+  MARKETING_EMAIL("Marketing Email", "/marketing-emails/v1/emails",
+                  "objects", "limit", "offset", "offset", null, null, null, 100),
+  PRODUCTS("Products", "/crm-objects/v1/objects/products/paged",
+           "objects", null, "offset", "offset", "hasMore", "properties", "products", 100),
+  TICKETS("Tickets", "/crm-objects/v1/objects/tickets/paged",
+          "objects", null, "offset", "offset", "hasMore", "properties", "tickets", 100);
+
+  /**
+   * Maximum number of objects in one page of the CRM v3 objects and search endpoints.
+   */
+  public static final int CRM_V3_MAX_PAGE_SIZE = 100;
 
   private final String stringValue;
+  private final String path;
+  private final String objectApiName;
+  private final String limitPropertyName;
+  private final String offsetPropertyName;
+  private final String offsetApiName;
+  private final String moreApiName;
+  private final String propertiesPropertyName;
+  private final String crmObjectName;
+  private final int maxPageSize;
 
-  ObjectType(String stringValue) {
+  ObjectType(String stringValue, String path, @Nullable String objectApiName, @Nullable String limitPropertyName,
+             @Nullable String offsetPropertyName, @Nullable String offsetApiName, @Nullable String moreApiName,
+             @Nullable String propertiesPropertyName, @Nullable String crmObjectName, int maxPageSize) {
     this.stringValue = stringValue;
+    this.path = path;
+    this.objectApiName = objectApiName;
+    this.limitPropertyName = limitPropertyName;
+    this.offsetPropertyName = offsetPropertyName;
+    this.offsetApiName = offsetApiName;
+    this.moreApiName = moreApiName;
+    this.propertiesPropertyName = propertiesPropertyName;
+    this.crmObjectName = crmObjectName;
+    this.maxPageSize = maxPageSize;
+  }
+
+  /**
+   * Returns the path of the legacy endpoint the objects are listed with, relative to the API server url.
+   * @return the path of the legacy endpoint
+   */
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * Returns the name of the response element holding the objects of a page.
+   * @return the element name, or null if the response is the object itself
+   */
+  @Nullable
+  public String getObjectApiName() {
+    return objectApiName;
+  }
+
+  /**
+   * Returns the name of the request parameter limiting the number of objects in a page.
+   * @return the parameter name, or null if the page size can not be set
+   */
+  @Nullable
+  public String getLimitPropertyName() {
+    return limitPropertyName;
+  }
+
+  /**
+   * Returns the name of the request parameter the offset of the page is passed in.
+   * @return the parameter name, or null if the objects are not paged
+   */
+  @Nullable
+  public String getOffsetPropertyName() {
+    return offsetPropertyName;
+  }
+
+  /**
+   * Returns the name of the response element holding the offset of the next page.
+   * @return the element name, or null if the objects are not paged
+   */
+  @Nullable
+  public String getOffsetApiName() {
+    return offsetApiName;
+  }
+
+  /**
+   * Returns the name of the response element telling whether there are more pages.
+   * @return the element name, or null if the response doesn't tell it
+   */
+  @Nullable
+  public String getMoreApiName() {
+    return moreApiName;
+  }
+
+  /**
+   * Returns the name of the request parameter the properties to return are passed in, one parameter per property.
+   * @return the parameter name, or null if the legacy endpoint returns a fixed set of properties
+   */
+  @Nullable
+  public String getPropertiesPropertyName() {
+    return propertiesPropertyName;
+  }
+
+  /**
+   * Returns the name of the object type in the CRM v3 API.
+   * @return the CRM v3 object name, or null if the objects are not available in the CRM v3 API
+   */
+  @Nullable
+  public String getCrmObjectName() {
+    return crmObjectName;
+  }
+
+  /**
+   * Returns the maximum number of objects in one page of the legacy endpoint.
+   * @return the maximum page size
+   */
+  public int getMaxPageSize() {
+    return maxPageSize;
   }
 
   /**
@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import org.apache.http.HttpResponse;
+
+import java.io.IOException;
+import javax.annotation.Nullable;
+
+/**
+ * Decides whether and when a failed Hubspot API call is retried.
+ */
+public interface RetryPolicy {
+
+  /**
+   * Returns the delay before the next attempt of a failed call.
+   * @param attempt the number of attempts made so far, starting from 1
+   * @param elapsedMillis the time spent on the call so far
+   * @param previousDelayMillis the delay before the previous attempt, 0 for the first one
+   * @param response the failed response, or null if the call failed with an exception
+   * @param error the exception the call failed with, or null if a response was received
+   * @return the delay in milliseconds, or a negative value if the call must not be retried
+   */
+  long getRetryDelay(int attempt, long elapsedMillis, long previousDelayMillis,
+                     @Nullable HttpResponse response, @Nullable IOException error);
+}
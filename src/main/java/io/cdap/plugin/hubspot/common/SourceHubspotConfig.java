@@ -21,6 +21,7 @@ import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.cdap.etl.api.FailureCollector;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -41,6 +42,29 @@ public class SourceHubspotConfig extends BaseHubspotConfig {
   public static final String END_DATE = "endDate";
   public static final String FILTERS = "filters";
   public static final String REPORT_OBJECT = "reportObject";
+  public static final String PAGE_PREFETCH_DEPTH = "pagePrefetchDepth";
+  public static final String MAX_SPLITS = "maxSplits";
+  public static final String WATERMARK_PATH = "watermarkPath";
+  public static final String INDEXING_DELAY = "indexingDelay";
+  public static final String USE_CRM_V3_API = "useCrmV3Api";
+  public static final String PAGE_SIZE = "pageSize";
+  public static final String SELECTED_PROPERTIES = "selectedProperties";
+  public static final String SEARCH_FILTER = "searchFilter";
+  public static final String TYPED_SCHEMA = "typedSchema";
+  public static final String OUTPUT_SCHEMA = "schema";
+
+  /**
+   * Number of objects in one page to pull, unless configured otherwise.
+   */
+  public static final int PAGE_SIZE_DEFAULT = 100;
+
+  /**
+   * Number of seconds it takes Hubspot to make modified objects searchable, unless configured otherwise.
+   */
+  public static final int INDEXING_DELAY_DEFAULT = 60;
+
+  // the schema doesn't depend on the configuration, so it's built once instead of for every record
+  private static final Schema SCHEMA = createSchema();
 
   @Name(FILTERS)
   @Description("Keyword to filter the analytics report data to include only the specified breakdowns.")
@@ -82,6 +106,70 @@ public class SourceHubspotConfig extends BaseHubspotConfig {
   @Macro
   @Nullable
   public String timePeriod;
+  @Name(PAGE_PREFETCH_DEPTH)
+  @Description("Number of pages fetched in the background ahead of the page being read. " +
+    "0 disables prefetching.")
+  @Macro
+  @Nullable
+  public Integer pagePrefetchDepth;
+  @Name(MAX_SPLITS)
+  @Description("Maximum number of splits the objects are read in parallel by. Defaults to 1.")
+  @Macro
+  @Nullable
+  public Integer maxSplits;
+  @Name(WATERMARK_PATH)
+  @Description("Path of the file the high-water mark of incremental reads is stored in. If set, only objects " +
+    "modified since the previous successful run are read.")
+  @Macro
+  @Nullable
+  public String watermarkPath;
+  @Name(INDEXING_DELAY)
+  @Description("Delay in seconds before changes are read with the CRM search API. Objects become searchable " +
+    "shortly after they are modified, so changes made during the delay are read by the next run or batch. " +
+    "Defaults to 60.")
+  @Macro
+  @Nullable
+  public Integer indexingDelay;
+  @Name(USE_CRM_V3_API)
+  @Description("Whether Contacts, Companies, Deals, Products and Tickets are read with the CRM v3 objects API, " +
+    "which pages by cursor, instead of the legacy endpoints.")
+  @Macro
+  @Nullable
+  public Boolean useCrmV3Api;
+  @Name(PAGE_SIZE)
+  @Description("Number of objects in one page to pull. Values above the maximum the endpoint allows are lowered " +
+    "to it. Defaults to 100.")
+  @Macro
+  @Nullable
+  public Integer pageSize;
+  @Name(SELECTED_PROPERTIES)
+  @Description("Comma-separated list of the object properties to fetch. If not set, the properties the endpoint " +
+    "returns by default are fetched.")
+  @Macro
+  @Nullable
+  public String selectedProperties;
+  @Name(SEARCH_FILTER)
+  @Description("Filter the objects are searched by, e.g. \"dealstage = closedwon AND amount >= 1000\". " +
+    "Only the objects matching the filter are read.")
+  @Macro
+  @Nullable
+  public String searchFilter;
+  @Name(TYPED_SCHEMA)
+  @Description("Whether objects are output as records with a field per property, typed by the property " +
+    "definitions, instead of a JSON string. Requires objects in the CRM v3 format.")
+  @Macro
+  @Nullable
+  public Boolean typedSchema;
+  @Name(OUTPUT_SCHEMA)
+  @Description("Output schema. With the typed schema, the properties record lists the properties read, so " +
+    "properties removed from it are not read.")
+  @Macro
+  @Nullable
+  public String schema;
+
+  // the modification time window of the current run, passed to the readers separately from the plugin properties
+  private transient String modifiedSince;
+  private transient String modifiedBefore;
 
   public SourceHubspotConfig(String referenceName) {
     super(referenceName);
@@ -137,6 +225,17 @@ public class SourceHubspotConfig extends BaseHubspotConfig {
       ConfigValidator.validateFilters(this, failureCollector);
       ConfigValidator.validateDateRange(this, failureCollector);
     }
+    ConfigValidator.validatePagePrefetchDepth(this, failureCollector);
+    ConfigValidator.validateMaxSplits(this, failureCollector);
+    ConfigValidator.validateIncremental(this, failureCollector);
+    ConfigValidator.validateIndexingDelay(this, failureCollector);
+    ConfigValidator.validateCrmV3(this, failureCollector);
+    ConfigValidator.validatePageSize(this, failureCollector);
+    ConfigValidator.validateProperties(this, failureCollector);
+    ConfigValidator.validateSearchFilter(this, failureCollector);
+    ConfigValidator.validateTypedSchema(this, failureCollector);
+    ConfigValidator.validateConnectionSettings(this, failureCollector);
+    ConfigValidator.validateRetrySettings(this, failureCollector);
     ConfigValidator.validateAuthorization(this, failureCollector);
   }
 
@@ -145,12 +244,54 @@ public class SourceHubspotConfig extends BaseHubspotConfig {
    * @return the Schema
    */
   public Schema getSchema() {
+    return SCHEMA;
+  }
+
+  private static Schema createSchema() {
     Set<Schema.Field> schemaFields = new HashSet<>();
     schemaFields.add(Schema.Field.of("objectType", Schema.nullableOf(Schema.of(Schema.Type.STRING))));
     schemaFields.add(Schema.Field.of("object", Schema.nullableOf(Schema.of(Schema.Type.STRING))));
     return Schema.recordOf("etlSchemaBody", schemaFields);
   }
 
+  /**
+   * Returns the output schema. The typed schema is built out of the property definitions read from Hubspot.
+   * @param failureCollector the failure collector the failure to read the property definitions is reported to
+   * @return the output schema, or null if it depends on macros which are not substituted yet
+   */
+  @Nullable
+  public Schema getOutputSchema(FailureCollector failureCollector) {
+    if (containsMacro(TYPED_SCHEMA)) {
+      return null;
+    }
+    if (!isTypedSchema()) {
+      return getSchema();
+    }
+    if (containsMacro(OBJECT_TYPE) || containsMacro(API_SERVER_URL) || containsMacro(API_KEY)
+      || containsMacro(ACCESS_TOKEN) || containsMacro(OAUTH_INFO) || containsMacro(SELECTED_PROPERTIES)
+      || containsMacro(OUTPUT_SCHEMA)) {
+      return null;
+    }
+    try {
+      return HubspotTypedSchema.getSchema(this);
+    } catch (IOException e) {
+      failureCollector.addFailure(String.format("Failed to read the property definitions: %s", e.getMessage()),
+                                  null)
+        .withConfigProperty(TYPED_SCHEMA);
+      throw failureCollector.getOrThrowException();
+    }
+  }
+
+  /**
+   * Returns the output schema set in the plugin properties, e.g. a typed schema edited in the UI.
+   * @return the output schema, or null if it is not set
+   * @throws IOException if the output schema is not valid
+   */
+  @Nullable
+  public Schema getConfiguredSchema() throws IOException {
+    return schema == null || schema.isEmpty() ? null : Schema.parseJson(schema);
+  }
+
   /**
    * Returns the ReportEndpoint.
    * @return the ReportEndpoint
@@ -196,4 +337,134 @@ public class SourceHubspotConfig extends BaseHubspotConfig {
     }
     return list;
   }
+
+  public int getPagePrefetchDepth() {
+    return pagePrefetchDepth == null ? 0 : pagePrefetchDepth;
+  }
+
+  public int getMaxSplits() {
+    return maxSplits == null ? 1 : maxSplits;
+  }
+
+  public int getIndexingDelay() {
+    return indexingDelay == null ? INDEXING_DELAY_DEFAULT : indexingDelay;
+  }
+
+  /**
+   * Returns the number of objects in one page to pull, limited by the maximum the endpoint allows.
+   * @return the page size
+   */
+  public int getPageSize() {
+    int size = pageSize == null ? PAGE_SIZE_DEFAULT : pageSize;
+    int maxSize = isSearch() || isCrmV3() ? ObjectType.CRM_V3_MAX_PAGE_SIZE : getObjectType().getMaxPageSize();
+    return Math.min(size, maxSize);
+  }
+
+  /**
+   * Returns the object properties to fetch.
+   * @return the property names, or an empty list to fetch the properties returned by default
+   */
+  public List<String> getSelectedProperties() {
+    List<String> list = new ArrayList<>();
+    if (selectedProperties != null) {
+      for (String property : selectedProperties.split(",")) {
+        if (!property.trim().isEmpty()) {
+          list.add(property.trim());
+        }
+      }
+    }
+    return list;
+  }
+
+  /**
+   * Returns true if the properties to fetch can be selected for the configured object type.
+   * @return true if the properties to fetch can be selected
+   */
+  public boolean isPropertiesSupported() {
+    return isSearch() || isCrmV3() || getObjectType().getPropertiesPropertyName() != null;
+  }
+
+  /**
+   * Returns true if the objects are listed with the CRM v3 objects API.
+   * Incremental and filtered reads use the CRM search API regardless.
+   * @return true if the objects are listed with the CRM v3 objects API
+   */
+  public boolean isCrmV3() {
+    return Boolean.TRUE.equals(useCrmV3Api) && !isSearch();
+  }
+
+  /**
+   * Returns true if only the objects modified since the high-water mark are read.
+   * @return true if the objects are read incrementally
+   */
+  public boolean isIncremental() {
+    return watermarkPath != null && !watermarkPath.isEmpty();
+  }
+
+  /**
+   * Returns the filter the objects are searched by.
+   * @return the filter expression, or null to read all the objects
+   */
+  @Nullable
+  public String getSearchFilter() {
+    return searchFilter == null || searchFilter.trim().isEmpty() ? null : searchFilter.trim();
+  }
+
+  /**
+   * Returns true if the objects are read with the CRM search API, either incrementally or by a filter.
+   * @return true if the objects are read with the CRM search API
+   */
+  public boolean isSearch() {
+    return isIncremental() || getSearchFilter() != null;
+  }
+
+  /**
+   * Returns true if the objects are output as records typed by the property definitions.
+   * @return true if the output schema is typed
+   */
+  public boolean isTypedSchema() {
+    return typedSchema != null && typedSchema;
+  }
+
+  /**
+   * Returns true if the objects are read in the CRM v3 format.
+   * @return true if the objects are read in the CRM v3 format
+   */
+  public boolean isCrmV3Format() {
+    return isSearch() || isCrmV3();
+  }
+
+  /**
+   * Returns the time objects have to be modified since to be read.
+   * @return the time in milliseconds since the epoch, or null to read all the objects
+   */
+  @Nullable
+  public String getModifiedSince() {
+    return modifiedSince;
+  }
+
+  public void setModifiedSince(@Nullable String modifiedSince) {
+    this.modifiedSince = modifiedSince;
+  }
+
+  /**
+   * Returns the time objects have to be modified before to be read.
+   * @return the time in milliseconds since the epoch, or null to read the objects modified up to now
+   */
+  @Nullable
+  public String getModifiedBefore() {
+    return modifiedBefore;
+  }
+
+  public void setModifiedBefore(@Nullable String modifiedBefore) {
+    this.modifiedBefore = modifiedBefore;
+  }
+
+  /**
+   * Returns true if objects of the configured type can be read incrementally.
+   * @return true if objects of the configured type can be read incrementally
+   */
+  public boolean isIncrementalSupported() {
+    return HubspotSearch.isSupported(getObjectType());
+  }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.sink.batch;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.cdap.plugin.hubspot.common.ObjectType;
+
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Converts records in the format of the single object endpoints into the elements of the batch endpoints,
+ * and builds the batch request bodies out of these elements.
+ *
+ * Contacts, companies and deals are sent to the CRM v3 batch create endpoints, so only records which consist of
+ * properties alone can be converted. Like the single object endpoints, these endpoints only create objects, unlike
+ * the legacy contacts batch endpoint, which would update the contacts with the same email. Products and tickets are
+ * sent to the CRM objects batch create endpoints, which take the same property lists as the single object endpoints.
+ * Records which can not be converted are sent one by one.
+ */
+class HubspotBatchRequestBuilder {
+  private static final JsonParser JSON_PARSER = new JsonParser();
+
+  private final ObjectType objectType;
+  private final String apiServerUrl;
+
+  HubspotBatchRequestBuilder(ObjectType objectType, String apiServerUrl) {
+    this.objectType = objectType;
+    this.apiServerUrl = apiServerUrl;
+  }
+
+  /**
+   * Returns true if the object type can be written with the batch endpoints.
+   * @return true if the object type can be written with the batch endpoints
+   */
+  boolean isSupported() {
+    return getEndpoint() != null;
+  }
+
+  /**
+   * Returns the endpoint the batches are sent to.
+   * @return the batch endpoint, or null if the object type can not be written in batches
+   */
+  @Nullable
+  String getEndpoint() {
+    switch (objectType) {
+      case CONTACTS:
+        return String.format("%s/crm/v3/objects/contacts/batch/create", apiServerUrl);
+      case COMPANIES:
+        return String.format("%s/crm/v3/objects/companies/batch/create", apiServerUrl);
+      case DEALS:
+        return String.format("%s/crm/v3/objects/deals/batch/create", apiServerUrl);
+      case PRODUCTS:
+        return String.format("%s/crm-objects/v1/objects/products/batch-create", apiServerUrl);
+      case TICKETS:
+        return String.format("%s/crm-objects/v1/objects/tickets/batch-create", apiServerUrl);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Converts the record into an element of the batch request body.
+   * @param record the record in the format of the single object endpoint
+   * @return the batch element, or null if the record can not be sent in a batch
+   */
+  @Nullable
+  JsonElement toBatchElement(String record) {
+    JsonElement json;
+    try {
+      json = JSON_PARSER.parse(record);
+    } catch (JsonParseException e) {
+      // let the single object endpoint report the malformed record
+      return null;
+    }
+    switch (objectType) {
+      case CONTACTS:
+        // contact properties are named by 'property' instead of 'name'
+        return toCrmObjectElement(json, "property");
+      case COMPANIES:
+      case DEALS:
+        return toCrmObjectElement(json, "name");
+      case PRODUCTS:
+      case TICKETS:
+        return json.isJsonArray() ? json : null;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Builds the request body out of the batch elements.
+   * @param elements the batch elements
+   * @return the request body
+   */
+  String buildBody(List<JsonElement> elements) {
+    JsonArray array = new JsonArray();
+    elements.forEach(array::add);
+    if (objectType == ObjectType.CONTACTS || objectType == ObjectType.COMPANIES || objectType == ObjectType.DEALS) {
+      JsonObject body = new JsonObject();
+      body.add("inputs", array);
+      return body.toString();
+    }
+    return array.toString();
+  }
+
+  @Nullable
+  private static JsonElement toCrmObjectElement(JsonElement json, String propertyNameKey) {
+    if (!json.isJsonObject()) {
+      return null;
+    }
+    JsonObject object = json.getAsJsonObject();
+    JsonElement properties = object.get("properties");
+    if (object.size() != 1 || properties == null) {
+      return null;
+    }
+    if (properties.isJsonObject()) {
+      // already in the CRM v3 format
+      return object;
+    }
+    if (!properties.isJsonArray()) {
+      return null;
+    }
+    JsonObject v3Properties = new JsonObject();
+    for (JsonElement property : properties.getAsJsonArray()) {
+      if (!property.isJsonObject()) {
+        return null;
+      }
+      JsonObject propertyObject = property.getAsJsonObject();
+      JsonElement name = propertyObject.get(propertyNameKey);
+      JsonElement value = propertyObject.get("value");
+      if (name == null || !name.isJsonPrimitive() || value == null || !value.isJsonPrimitive()) {
+        return null;
+      }
+      v3Properties.addProperty(name.getAsString(), value.getAsString());
+    }
+    JsonObject element = new JsonObject();
+    element.add("properties", v3Properties);
+    return element;
+  }
+}
@@ -15,23 +15,63 @@
  */
 package io.cdap.plugin.hubspot.sink.batch;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+import io.cdap.plugin.hubspot.common.BackoffRetryPolicy;
 import io.cdap.plugin.hubspot.common.HubspotHelper;
+import io.cdap.plugin.hubspot.common.HubspotHttpClient;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.mapreduce.RecordWriter;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.http.Header;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 
 /**
  * Submit {@link String} records to Hubspot.
+ *
+ * If the batch size is greater than one and the object type has a batch endpoint, records are buffered and sent
+ * in batches. A batch is sent once it is full, once the flush interval has passed since its first record was
+ * buffered, and when the writer is closed. The flush interval is checked on every write and by a background task,
+ * so a batch is sent in time even if no further records are written.
+ *
+ * If more than one concurrent request is allowed, requests are sent in the background, and writing blocks only
+ * when all the allowed requests are in flight. The first failed request, or background flush, fails the next write,
+ * or the close.
  */
 public class HubspotRecordWriter extends RecordWriter<NullWritable, String> {
   private final SinkHubspotConfig config;
+  private final HubspotBatchRequestBuilder batchRequestBuilder;
+  private final List<JsonElement> batch = new ArrayList<>();
+  private long batchStartTime;
+  @Nullable
+  private final ExecutorService executor;
+  private final Semaphore inFlightRequests;
+  private final AtomicReference<Exception> failure = new AtomicReference<>();
+  @Nullable
+  private final ScheduledExecutorService flushScheduler;
 
   private static final Header POST_REQUEST_HEADER = new BasicHeader("Content-Type", "application/json");
+  private static final int MULTI_STATUS = 207;
+  private static final String WRITER_THREAD_NAME = "hubspot-writer";
+  private static final String FLUSH_THREAD_NAME = "hubspot-writer-flush";
+  private static final long FLUSH_CHECK_INTERVAL_MILLIS = 1000;
 
   /**
    * Constructor for HubspotRecordWriter object.
@@ -41,25 +81,161 @@ public class HubspotRecordWriter extends RecordWriter<NullWritable, String> {
     Configuration configuration = taskAttemptContext.getConfiguration();
     String configJson = configuration.get(HubspotOutputFormatProvider.PROPERTY_CONFIG_JSON);
     config = HubspotOutputFormatProvider.GSON.fromJson(configJson, SinkHubspotConfig.class);
+    batchRequestBuilder = new HubspotBatchRequestBuilder(config.getObjectType(), config.getApiServerUrl());
+    int maxConcurrentRequests = config.getMaxConcurrentRequests();
+    inFlightRequests = new Semaphore(maxConcurrentRequests);
+    executor = maxConcurrentRequests > 1
+      ? Executors.newFixedThreadPool(maxConcurrentRequests, new ThreadFactoryBuilder()
+                                       .setNameFormat(WRITER_THREAD_NAME + "-%d")
+                                       .setDaemon(true)
+                                       .build())
+      : null;
+    HubspotHttpClient.acquire(config);
+    if (config.getBatchSize() > 1 && batchRequestBuilder.isSupported()) {
+      flushScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                                                                    .setNameFormat(FLUSH_THREAD_NAME + "-%d")
+                                                                    .setDaemon(true)
+                                                                    .build());
+      flushScheduler.scheduleWithFixedDelay(this::flushIfDue, FLUSH_CHECK_INTERVAL_MILLIS,
+                                            FLUSH_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    } else {
+      flushScheduler = null;
+    }
   }
 
   @Override
   public void write(NullWritable nullWritable, String input) {
     try {
-      HttpPost request = (HttpPost) HubspotHelper.addCredentialsToRequest(
-              new HttpPost(getSinkEndpoint(config)), config);
-      request.addHeader(POST_REQUEST_HEADER);
-      request.setEntity(new StringEntity(input));
-      HubspotHelper.executeRequestWithRetries(request);
-
+      throwFailureIfAny();
+      JsonElement batchElement = config.getBatchSize() > 1 && batchRequestBuilder.isSupported()
+        ? batchRequestBuilder.toBatchElement(input)
+        : null;
+      if (batchElement == null) {
+        send(getSinkEndpoint(config), input);
+        return;
+      }
+      synchronized (batch) {
+        if (batch.isEmpty()) {
+          batchStartTime = System.currentTimeMillis();
+        }
+        batch.add(batchElement);
+        if (batch.size() >= config.getBatchSize() || isFlushDue()) {
+          flush();
+        }
+      }
     } catch (Exception e) {
       throw new RuntimeException("Submit record to Hubspot failed with:", e);
     }
   }
 
   @Override
-  public void close(TaskAttemptContext taskAttemptContext) {
-    //no-op
+  public void close(TaskAttemptContext taskAttemptContext) throws IOException {
+    try {
+      if (flushScheduler != null) {
+        // cancels further checks, but does not interrupt a flush in progress, which the lock below waits for
+        flushScheduler.shutdown();
+      }
+      synchronized (batch) {
+        flush();
+      }
+      awaitInFlightRequests();
+      throwFailureIfAny();
+    } finally {
+      if (flushScheduler != null) {
+        flushScheduler.shutdownNow();
+      }
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+      HubspotHttpClient.release();
+    }
+  }
+
+  private boolean isFlushDue() {
+    return System.currentTimeMillis() - batchStartTime >= TimeUnit.SECONDS.toMillis(config.getBatchFlushInterval());
+  }
+
+  private void flushIfDue() {
+    synchronized (batch) {
+      if (batch.isEmpty() || !isFlushDue()) {
+        return;
+      }
+      try {
+        flush();
+      } catch (Exception e) {
+        // an exception would cancel the task, the failure is thrown by the next write instead
+        failure.compareAndSet(null, e);
+      }
+    }
+  }
+
+  private void flush() throws IOException {
+    if (batch.isEmpty()) {
+      return;
+    }
+    String body = batchRequestBuilder.buildBody(batch);
+    batch.clear();
+    send(batchRequestBuilder.getEndpoint(), body);
+  }
+
+  private void send(String endpoint, String body) throws IOException {
+    if (executor == null) {
+      post(endpoint, body);
+      return;
+    }
+    acquireInFlightRequests(1);
+    try {
+      executor.execute(() -> {
+        try {
+          post(endpoint, body);
+        } catch (Exception e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          inFlightRequests.release();
+        }
+      });
+    } catch (RuntimeException e) {
+      inFlightRequests.release();
+      throw e;
+    }
+  }
+
+  private void awaitInFlightRequests() throws IOException {
+    int maxConcurrentRequests = config.getMaxConcurrentRequests();
+    acquireInFlightRequests(maxConcurrentRequests);
+    inFlightRequests.release(maxConcurrentRequests);
+  }
+
+  private void acquireInFlightRequests(int permits) throws IOException {
+    try {
+      inFlightRequests.acquire(permits);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for in-flight Hubspot requests.");
+    }
+  }
+
+  private void throwFailureIfAny() throws IOException {
+    Exception e = failure.get();
+    if (e != null) {
+      throw new IOException("Submit record to Hubspot failed with:", e);
+    }
+  }
+
+  private void post(String endpoint, String body) throws IOException {
+    HttpPost request = (HttpPost) HubspotHelper.addCredentialsToRequest(new HttpPost(endpoint), config);
+    request.addHeader(POST_REQUEST_HEADER);
+    request.setEntity(new StringEntity(body));
+    // records are created, so a request which may have reached Hubspot is not sent again
+    try (CloseableHttpResponse response = HubspotHelper.executeRequestWithRetries(
+      request, config, BackoffRetryPolicy.of(config, false))) {
+      // the CRM v3 batch endpoints report the records they failed to create with a multi-status response
+      if (response.getStatusLine().getStatusCode() == MULTI_STATUS) {
+        throw new IOException("Some records of the batch were not created: "
+                                + EntityUtils.toString(response.getEntity()));
+      }
+      EntityUtils.consume(response.getEntity());
+    }
   }
 
   private static String getSinkEndpoint(SinkHubspotConfig sinkHubspotConfig) {
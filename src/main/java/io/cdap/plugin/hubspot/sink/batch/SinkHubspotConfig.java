@@ -22,17 +22,39 @@ import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.plugin.hubspot.common.BaseHubspotConfig;
 import io.cdap.plugin.hubspot.common.ConfigValidator;
 
+import javax.annotation.Nullable;
+
 /**
  * Provides Sink configuration for accessing Hubspot API.
  */
 public class SinkHubspotConfig extends BaseHubspotConfig {
 
   public static final String OBJECT_FIELD = "objectField";
+  public static final String BATCH_SIZE = "batchSize";
+  public static final String BATCH_FLUSH_INTERVAL = "batchFlushInterval";
+  public static final String MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+  public static final int MAX_BATCH_SIZE = 100;
 
   @Name(OBJECT_FIELD)
   @Description("Name of Field with object description json.")
   @Macro
   public String objectField;
+  @Name(BATCH_SIZE)
+  @Description("Maximum number of objects sent in one request to the Hubspot batch endpoints. " +
+    "Object types without a batch endpoint are sent one by one. Defaults to 1.")
+  @Macro
+  @Nullable
+  public Integer batchSize;
+  @Name(BATCH_FLUSH_INTERVAL)
+  @Description("Maximum number of seconds objects are buffered before a batch is sent. Defaults to 10.")
+  @Macro
+  @Nullable
+  public Integer batchFlushInterval;
+  @Name(MAX_CONCURRENT_REQUESTS)
+  @Description("Maximum number of requests one writer sends to Hubspot at the same time. Defaults to 1.")
+  @Macro
+  @Nullable
+  public Integer maxConcurrentRequests;
 
   public SinkHubspotConfig(String referenceName) {
     super(referenceName);
@@ -40,5 +62,20 @@ public class SinkHubspotConfig extends BaseHubspotConfig {
 
   public void validate(FailureCollector failureCollector) {
     ConfigValidator.validateSinkObjectType(this, failureCollector);
+    ConfigValidator.validateConnectionSettings(this, failureCollector);
+    ConfigValidator.validateRetrySettings(this, failureCollector);
+    ConfigValidator.validateBatchSettings(this, failureCollector);
+  }
+
+  public int getBatchSize() {
+    return batchSize == null ? 1 : batchSize;
+  }
+
+  public int getBatchFlushInterval() {
+    return batchFlushInterval == null ? 10 : batchFlushInterval;
+  }
+
+  public int getMaxConcurrentRequests() {
+    return maxConcurrentRequests == null ? 1 : maxConcurrentRequests;
   }
 }
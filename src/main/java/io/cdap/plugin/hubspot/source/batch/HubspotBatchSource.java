@@ -15,7 +15,6 @@
  */
 package io.cdap.plugin.hubspot.source.batch;
 
-import com.google.gson.JsonElement;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
@@ -26,14 +25,21 @@ import io.cdap.cdap.api.dataset.lib.KeyValue;
 import io.cdap.cdap.etl.api.Emitter;
 import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.cdap.etl.api.PipelineConfigurer;
+import io.cdap.cdap.etl.api.batch.BatchRuntimeContext;
 import io.cdap.cdap.etl.api.batch.BatchSource;
 import io.cdap.cdap.etl.api.batch.BatchSourceContext;
 import io.cdap.plugin.common.IdUtils;
 import io.cdap.plugin.common.LineageRecorder;
 import io.cdap.plugin.hubspot.common.HubspotHelper;
+import io.cdap.plugin.hubspot.common.HubspotStateStore;
+import io.cdap.plugin.hubspot.common.HubspotTypedSchema;
 import io.cdap.plugin.hubspot.common.SourceHubspotConfig;
 import org.apache.hadoop.io.NullWritable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -42,9 +48,12 @@ import java.util.stream.Collectors;
 @Plugin(type = BatchSource.PLUGIN_TYPE)
 @Name(HubspotBatchSource.NAME)
 @Description("Plugin reads Hubspot objects in batch")
-public class HubspotBatchSource extends BatchSource<NullWritable, JsonElement, StructuredRecord> {
+public class HubspotBatchSource extends BatchSource<NullWritable, String, StructuredRecord> {
+  private static final Logger LOG = LoggerFactory.getLogger(HubspotBatchSource.class);
 
   private final SourceHubspotConfig config;
+  private long runStartTime;
+  private Schema schema;
 
   public static final String NAME = "Hubspot";
 
@@ -54,8 +63,9 @@ public class HubspotBatchSource extends BatchSource<NullWritable, JsonElement, S
 
   @Override
   public void configurePipeline(PipelineConfigurer pipelineConfigurer) {
-    validateConfiguration(pipelineConfigurer.getStageConfigurer().getFailureCollector());
-    pipelineConfigurer.getStageConfigurer().setOutputSchema(config.getSchema());
+    FailureCollector failureCollector = pipelineConfigurer.getStageConfigurer().getFailureCollector();
+    validateConfiguration(failureCollector);
+    pipelineConfigurer.getStageConfigurer().setOutputSchema(config.getOutputSchema(failureCollector));
   }
 
   /**
@@ -65,18 +75,58 @@ public class HubspotBatchSource extends BatchSource<NullWritable, JsonElement, S
    */
   public void prepareRun(BatchSourceContext context) throws Exception {
     validateConfiguration(context.getFailureCollector());
+    Schema schema = config.getOutputSchema(context.getFailureCollector());
     LineageRecorder lineageRecorder = new LineageRecorder(context, config.referenceName);
-    lineageRecorder.createExternalDataset(config.getSchema());
+    lineageRecorder.createExternalDataset(schema);
     lineageRecorder.recordRead("Reads", "Reading Hubspot objects",
-                               config.getSchema().getFields().stream()
+                               schema.getFields().stream()
                                  .map(Schema.Field::getName)
                                  .collect(Collectors.toList()));
+    if (config.isTypedSchema() && config.getSelectedProperties().isEmpty()) {
+      // the endpoints return only a few properties by default, so all the properties of the schema are requested
+      config.selectedProperties = String.join(",", HubspotTypedSchema.getPropertyNames(schema));
+    }
+    if (config.isIncremental()) {
+      // objects modified while this run reads, or not searchable yet when it starts, are read again by the next
+      // run, so none of them is missed
+      runStartTime = System.currentTimeMillis();
+      config.setModifiedSince(new HubspotStateStore(config.watermarkPath).read());
+      LOG.info("Reading Hubspot objects modified since '{}'.", config.getModifiedSince());
+    }
     context.setInput(Input.of(NAME, new HubspotInputFormatProvider(config)));
   }
 
   @Override
-  public void transform(KeyValue<NullWritable, JsonElement> input, Emitter<StructuredRecord> emitter) {
-    emitter.emit(HubspotHelper.transform(input.getValue().toString(), config));
+  public void onRunFinish(boolean succeeded, BatchSourceContext context) {
+    if (!succeeded || !config.isIncremental()) {
+      return;
+    }
+    try {
+      long watermark = runStartTime - TimeUnit.SECONDS.toMillis(config.getIndexingDelay());
+      new HubspotStateStore(config.watermarkPath).write(String.valueOf(watermark));
+    } catch (IOException e) {
+      // the next run reads the objects of this run again
+      LOG.warn(String.format("Failed to store the high-water mark in '%s'.", config.watermarkPath), e);
+    }
+  }
+
+  @Override
+  public void initialize(BatchRuntimeContext context) throws Exception {
+    super.initialize(context);
+    if (config.isTypedSchema()) {
+      schema = context.getOutputSchema() == null
+        ? HubspotTypedSchema.getSchema(config)
+        : context.getOutputSchema();
+    } else {
+      schema = config.getSchema();
+    }
+  }
+
+  @Override
+  public void transform(KeyValue<NullWritable, String> input, Emitter<StructuredRecord> emitter) {
+    emitter.emit(config.isTypedSchema()
+                   ? HubspotTypedSchema.transform(input.getValue(), config.objectType, schema)
+                   : HubspotHelper.transform(input.getValue(), config.objectType, schema));
   }
 
   private void validateConfiguration(FailureCollector failureCollector) {
@@ -15,23 +15,33 @@
  */
 package io.cdap.plugin.hubspot.source.batch;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.cdap.plugin.hubspot.common.SourceHubspotConfig;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.mapreduce.InputFormat;
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.JobContext;
 import org.apache.hadoop.mapreduce.RecordReader;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 
-import java.util.Collections;
+import java.io.IOException;
 import java.util.List;
 
 /**
- * InputFormat for mapreduce job, which provides a single split of data.
+ * InputFormat for mapreduce job, which splits the data as planned by {@link HubspotSplitPlanner}.
  */
 public class HubspotInputFormat extends InputFormat {
+  private static final Gson GSON = new GsonBuilder().create();
 
   @Override
-  public List<InputSplit> getSplits(JobContext jobContext) {
-    return Collections.singletonList(new HubspotSplit());
+  public List<InputSplit> getSplits(JobContext jobContext) throws IOException {
+    Configuration conf = jobContext.getConfiguration();
+    SourceHubspotConfig config = GSON.fromJson(conf.get(HubspotInputFormatProvider.PROPERTY_CONFIG_JSON),
+                                               SourceHubspotConfig.class);
+    // the high-water mark is not serialized with the config, the windows have to start at it
+    config.setModifiedSince(conf.get(HubspotInputFormatProvider.PROPERTY_MODIFIED_SINCE));
+    return new HubspotSplitPlanner(config).getSplits();
   }
 
   @Override
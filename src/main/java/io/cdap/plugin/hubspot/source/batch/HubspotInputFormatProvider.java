@@ -28,13 +28,17 @@ import java.util.Map;
  */
 public class HubspotInputFormatProvider implements InputFormatProvider {
   public static final String PROPERTY_CONFIG_JSON = "cdap.hubspot.config";
+  public static final String PROPERTY_MODIFIED_SINCE = "cdap.hubspot.modified.since";
   private static final Gson gson = new GsonBuilder().create();
   private final Map<String, String> conf;
 
   HubspotInputFormatProvider(SourceHubspotConfig config) {
-    this.conf = new ImmutableMap.Builder<String, String>()
-      .put(PROPERTY_CONFIG_JSON, gson.toJson(config))
-      .build();
+    ImmutableMap.Builder<String, String> builder = new ImmutableMap.Builder<String, String>()
+      .put(PROPERTY_CONFIG_JSON, gson.toJson(config));
+    if (config.getModifiedSince() != null) {
+      builder.put(PROPERTY_MODIFIED_SINCE, config.getModifiedSince());
+    }
+    this.conf = builder.build();
   }
 
   @Override
@@ -17,42 +17,81 @@ package io.cdap.plugin.hubspot.source.batch;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
+import io.cdap.plugin.hubspot.common.HubspotHttpClient;
 import io.cdap.plugin.hubspot.common.HubspotPagesIterator;
 import io.cdap.plugin.hubspot.common.SourceHubspotConfig;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.Counter;
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.RecordReader;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 
 import java.io.IOException;
+import javax.annotation.Nullable;
 
 /**
  * RecordReader implementation, which reads object instances from Hubspot.
+ *
+ * Progress is the share of the split's objects read so far, if the endpoint reports the total number of objects.
+ * Otherwise the reader only knows whether it has finished. Records and pages read are reported as counters.
  */
-public class HubspotRecordReader extends RecordReader<NullWritable, JsonElement> {
+public class HubspotRecordReader extends RecordReader<NullWritable, String> {
 
   protected static final Gson GSON = new GsonBuilder().create();
 
-  private JsonElement currentObject;
+  static final String COUNTER_GROUP = "Hubspot";
+  static final String RECORDS_READ_COUNTER = "Records Read";
+  static final String PAGES_READ_COUNTER = "Pages Read";
+
+  private String currentObject;
   private HubspotPagesIterator hubspotPagesIterator;
+  private Counter recordsReadCounter;
+  private Counter pagesReadCounter;
+  private long recordsRead = 0;
+  private int pagesRead = 0;
+  private long expectedRecords = -1;
+  private boolean finished = false;
 
   @Override
   public void initialize(InputSplit inputSplit, TaskAttemptContext taskAttemptContext) throws IOException {
     Configuration conf = taskAttemptContext.getConfiguration();
     String configJson = conf.get(HubspotInputFormatProvider.PROPERTY_CONFIG_JSON);
     SourceHubspotConfig sourceHubspotConfig = GSON.fromJson(configJson, SourceHubspotConfig.class);
-    hubspotPagesIterator = new HubspotPagesIterator(sourceHubspotConfig);
+    sourceHubspotConfig.setModifiedSince(conf.get(HubspotInputFormatProvider.PROPERTY_MODIFIED_SINCE));
+    HubspotHttpClient.acquire(sourceHubspotConfig);
+
+    HubspotSplit split = (HubspotSplit) inputSplit;
+    if (split.getStartDate() != null) {
+      sourceHubspotConfig.startDate = split.getStartDate();
+      sourceHubspotConfig.endDate = split.getEndDate();
+    }
+    if (split.getModifiedSince() != null) {
+      sourceHubspotConfig.setModifiedSince(split.getModifiedSince());
+    }
+    if (split.getModifiedBefore() != null) {
+      sourceHubspotConfig.setModifiedBefore(split.getModifiedBefore());
+    }
+    hubspotPagesIterator = new HubspotPagesIterator(sourceHubspotConfig, split.getStartOffset(),
+                                                    split.getEndOffset());
+
+    recordsReadCounter = taskAttemptContext.getCounter(COUNTER_GROUP, RECORDS_READ_COUNTER);
+    pagesReadCounter = taskAttemptContext.getCounter(COUNTER_GROUP, PAGES_READ_COUNTER);
+    expectedRecords = getExpectedRecords(split, hubspotPagesIterator.getTotal());
   }
 
   @Override
   public boolean nextKeyValue() {
-    if (!hubspotPagesIterator.hasNext()) {
+    boolean hasNext = hubspotPagesIterator.hasNext();
+    updatePagesRead();
+    if (!hasNext) {
+      finished = true;
       return false;
     }
 
     currentObject = hubspotPagesIterator.next();
+    recordsRead++;
+    recordsReadCounter.increment(1);
     return true;
   }
 
@@ -62,17 +101,44 @@ public class HubspotRecordReader extends RecordReader<NullWritable, JsonElement>
   }
 
   @Override
-  public JsonElement getCurrentValue() throws IOException, InterruptedException {
+  public String getCurrentValue() throws IOException, InterruptedException {
     return currentObject;
   }
 
   @Override
   public float getProgress() throws IOException, InterruptedException {
-    return 0;
+    if (finished) {
+      return 1;
+    }
+    if (expectedRecords <= 0) {
+      return 0;
+    }
+    // the total is a snapshot taken with the first page, so objects created since may exceed it
+    return Math.min(1f, (float) recordsRead / expectedRecords);
   }
 
   @Override
   public void close() throws IOException {
+    if (hubspotPagesIterator != null) {
+      hubspotPagesIterator.close();
+    }
+    HubspotHttpClient.release();
+  }
 
+  private void updatePagesRead() {
+    int iteratorPagesRead = hubspotPagesIterator.getPagesRead();
+    if (iteratorPagesRead > pagesRead) {
+      pagesReadCounter.increment(iteratorPagesRead - pagesRead);
+      pagesRead = iteratorPagesRead;
+    }
+  }
+
+  private static long getExpectedRecords(HubspotSplit split, @Nullable Long total) {
+    if (total == null) {
+      return -1;
+    }
+    long start = split.getStartOffset() == null ? 0 : Long.parseLong(split.getStartOffset());
+    long end = split.getEndOffset() == null ? total : Math.min(split.getEndOffset(), total);
+    return end - start;
   }
 }
@@ -20,20 +20,103 @@ import org.apache.hadoop.mapreduce.InputSplit;
 
 import java.io.DataInput;
 import java.io.DataOutput;
+import java.io.IOException;
+import javax.annotation.Nullable;
 
 /**
- * A no-op split.
+ * A split which covers a part of the objects to read. The part is bounded by a date range, by an offset range,
+ * by a modification time range, or by a combination of them. Bounds which are not set are not restricted, so a split
+ * without bounds covers all the objects.
  */
 public class HubspotSplit extends InputSplit implements Writable {
+  private String startDate;
+  private String endDate;
+  private String startOffset;
+  private Long endOffset;
+  private String modifiedSince;
+  private String modifiedBefore;
+
   public HubspotSplit() {
   }
 
+  /**
+   * Constructor for HubspotSplit object.
+   * @param startDate the start date of the split in YYYYMMDD format, or null to use the configured one
+   * @param endDate the end date of the split in YYYYMMDD format, or null to use the configured one
+   * @param startOffset the offset of the first page of the split, or null to start from the first page
+   * @param endOffset the offset at which the split ends, or null to read until the last page
+   */
+  public HubspotSplit(@Nullable String startDate, @Nullable String endDate,
+                      @Nullable String startOffset, @Nullable Long endOffset) {
+    this.startDate = startDate;
+    this.endDate = endDate;
+    this.startOffset = startOffset;
+    this.endOffset = endOffset;
+  }
+
+  /**
+   * Constructor for a split of the objects modified within a time range.
+   * @param modifiedSince the time the objects are modified since in milliseconds since the epoch,
+   *                      or null to use the configured one
+   * @param modifiedBefore the time the objects are modified before in milliseconds since the epoch,
+   *                       or null to use the configured one
+   */
+  public HubspotSplit(@Nullable String modifiedSince, @Nullable String modifiedBefore) {
+    this.modifiedSince = modifiedSince;
+    this.modifiedBefore = modifiedBefore;
+  }
+
+  @Nullable
+  public String getStartDate() {
+    return startDate;
+  }
+
+  @Nullable
+  public String getEndDate() {
+    return endDate;
+  }
+
+  @Nullable
+  public String getStartOffset() {
+    return startOffset;
+  }
+
+  @Nullable
+  public Long getEndOffset() {
+    return endOffset;
+  }
+
+  @Nullable
+  public String getModifiedSince() {
+    return modifiedSince;
+  }
+
+  @Nullable
+  public String getModifiedBefore() {
+    return modifiedBefore;
+  }
+
   @Override
-  public void readFields(DataInput dataInput) {
+  public void readFields(DataInput dataInput) throws IOException {
+    startDate = readNullableString(dataInput);
+    endDate = readNullableString(dataInput);
+    startOffset = readNullableString(dataInput);
+    endOffset = dataInput.readBoolean() ? dataInput.readLong() : null;
+    modifiedSince = readNullableString(dataInput);
+    modifiedBefore = readNullableString(dataInput);
   }
 
   @Override
-  public void write(DataOutput dataOutput) {
+  public void write(DataOutput dataOutput) throws IOException {
+    writeNullableString(dataOutput, startDate);
+    writeNullableString(dataOutput, endDate);
+    writeNullableString(dataOutput, startOffset);
+    dataOutput.writeBoolean(endOffset != null);
+    if (endOffset != null) {
+      dataOutput.writeLong(endOffset);
+    }
+    writeNullableString(dataOutput, modifiedSince);
+    writeNullableString(dataOutput, modifiedBefore);
   }
 
   @Override
@@ -45,4 +128,16 @@ public class HubspotSplit extends InputSplit implements Writable {
   public String[] getLocations() {
     return new String[0];
   }
+
+  @Nullable
+  private static String readNullableString(DataInput dataInput) throws IOException {
+    return dataInput.readBoolean() ? dataInput.readUTF() : null;
+  }
+
+  private static void writeNullableString(DataOutput dataOutput, @Nullable String value) throws IOException {
+    dataOutput.writeBoolean(value != null);
+    if (value != null) {
+      dataOutput.writeUTF(value);
+    }
+  }
 }
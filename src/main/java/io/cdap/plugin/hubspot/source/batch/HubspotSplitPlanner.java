@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.batch;
+
+import io.cdap.plugin.hubspot.common.HubspotHttpClient;
+import io.cdap.plugin.hubspot.common.HubspotHelper;
+import io.cdap.plugin.hubspot.common.HubspotPage;
+import io.cdap.plugin.hubspot.common.ModificationTimeWindows;
+import io.cdap.plugin.hubspot.common.ObjectType;
+import io.cdap.plugin.hubspot.common.SourceHubspotConfig;
+import io.cdap.plugin.hubspot.common.TimePeriod;
+import org.apache.hadoop.mapreduce.InputSplit;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Partitions the objects to read into at most {@link SourceHubspotConfig#getMaxSplits()} splits.
+ *
+ * Daily Analytics reports are split into date windows, as the data of each day does not depend on the other days.
+ * Objects read with the CRM search API are split into modification time windows, from the modification time of the
+ * least recently modified object up to the time the splits are planned. The last window is left open, so objects
+ * modified while the splits are read are not missed.
+ * Endpoints with positional offsets that return the total number of objects are split into offset ranges.
+ * Everything else is read by a single split, as its pages can only be reached by following the previous ones.
+ */
+class HubspotSplitPlanner {
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+  private final SourceHubspotConfig config;
+
+  HubspotSplitPlanner(SourceHubspotConfig config) {
+    this.config = config;
+  }
+
+  List<InputSplit> getSplits() throws IOException {
+    HubspotHttpClient.acquire(config);
+    try {
+      return planSplits();
+    } finally {
+      HubspotHttpClient.release();
+    }
+  }
+
+  private List<InputSplit> planSplits() throws IOException {
+    int maxSplits = config.getMaxSplits();
+    if (maxSplits > 1) {
+      if (isSplitByDate()) {
+        return getDateSplits(maxSplits);
+      }
+      if (config.isSearch()) {
+        return getModificationTimeSplits(maxSplits);
+      }
+      if (isSplitByOffset()) {
+        return getOffsetSplits(maxSplits);
+      }
+    }
+    return Collections.singletonList(new HubspotSplit());
+  }
+
+  private boolean isSplitByDate() {
+    return config.getObjectType() == ObjectType.ANALYTICS
+      && (config.getTimePeriod() == TimePeriod.DAILY || config.getTimePeriod() == TimePeriod.SUMMARIZE_DAILY);
+  }
+
+  private boolean isSplitByOffset() {
+    switch (config.getObjectType()) {
+      case MARKETING_EMAIL:
+        return true;
+      case ANALYTICS:
+        return config.getTimePeriod() == TimePeriod.TOTAL;
+      default:
+        return false;
+    }
+  }
+
+  private List<InputSplit> getDateSplits(int maxSplits) {
+    LocalDate startDate = LocalDate.parse(config.startDate, DATE_FORMAT);
+    LocalDate endDate = LocalDate.parse(config.endDate, DATE_FORMAT);
+    long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    long splitCount = Math.min(maxSplits, days);
+
+    List<InputSplit> splits = new ArrayList<>();
+    LocalDate splitStart = startDate;
+    for (long i = 0; i < splitCount; i++) {
+      // spread the remainder over the first splits
+      long splitDays = days / splitCount + (i < days % splitCount ? 1 : 0);
+      LocalDate splitEnd = splitStart.plusDays(splitDays - 1);
+      splits.add(new HubspotSplit(splitStart.format(DATE_FORMAT), splitEnd.format(DATE_FORMAT), null, null));
+      splitStart = splitEnd.plusDays(1);
+    }
+    return splits;
+  }
+
+  private List<InputSplit> getModificationTimeSplits(int maxSplits) throws IOException {
+    Long start = config.getModifiedSince() == null
+      ? ModificationTimeWindows.getEarliestModification(config)
+      : Long.valueOf(config.getModifiedSince());
+    if (start == null) {
+      // no object matches
+      return Collections.singletonList(new HubspotSplit());
+    }
+    long end = config.getModifiedBefore() == null
+      ? System.currentTimeMillis()
+      : Long.parseLong(config.getModifiedBefore());
+    List<long[]> windows = ModificationTimeWindows.split(start, end, maxSplits);
+    if (windows.size() <= 1) {
+      return Collections.singletonList(new HubspotSplit());
+    }
+    List<InputSplit> splits = new ArrayList<>();
+    for (int i = 0; i < windows.size(); i++) {
+      // the outer bounds are the configured ones, so the splits together cover everything a single split would
+      String modifiedSince = i == 0 ? null : String.valueOf(windows.get(i)[0]);
+      String modifiedBefore = i == windows.size() - 1 ? null : String.valueOf(windows.get(i)[1]);
+      splits.add(new HubspotSplit(modifiedSince, modifiedBefore));
+    }
+    return splits;
+  }
+
+  private List<InputSplit> getOffsetSplits(int maxSplits) throws IOException {
+    HubspotPage firstPage = new HubspotHelper().getHubspotPage(config, null);
+    Long total = firstPage == null ? null : firstPage.getTotal();
+    long pageSize = config.getPageSize();
+    if (total == null || total <= pageSize) {
+      return Collections.singletonList(new HubspotSplit());
+    }
+    // splits are aligned to pages, so every page is read by exactly one split
+    long pages = (total + pageSize - 1) / pageSize;
+    long pagesPerSplit = (pages + maxSplits - 1) / maxSplits;
+    long splitSize = pagesPerSplit * pageSize;
+
+    List<InputSplit> splits = new ArrayList<>();
+    for (long start = 0; start < total; start += splitSize) {
+      String startOffset = start == 0 ? null : String.valueOf(start);
+      Long endOffset = start + splitSize < total ? start + splitSize : null;
+      splits.add(new HubspotSplit(null, null, startOffset, endOffset));
+    }
+    return splits;
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import io.cdap.plugin.hubspot.common.HubspotRateLimiter;
+
+/**
+ * Interval between pulls of the streaming receiver, which adapts to how often objects change.
+ *
+ * The interval is halved after a pull that returned new objects and doubled after a pull that did not, staying
+ * between the floor and the ceiling. It is not shortened while the rate limit budget is low.
+ */
+class AdaptivePullInterval {
+  private static final int LOW_RATE_LIMIT_BUDGET = 10;
+
+  private final long floorMillis;
+  private final long ceilingMillis;
+  private final HubspotRateLimiter rateLimiter;
+  private long intervalMillis;
+
+  AdaptivePullInterval(long floorMillis, long ceilingMillis, HubspotRateLimiter rateLimiter) {
+    this.floorMillis = floorMillis;
+    this.ceilingMillis = Math.max(floorMillis, ceilingMillis);
+    this.rateLimiter = rateLimiter;
+    this.intervalMillis = floorMillis;
+  }
+
+  /**
+   * Returns the time to wait before the next pull.
+   * @param receivedObjects true if new objects were received since the previous pull
+   * @return the time to wait in milliseconds
+   */
+  long next(boolean receivedObjects) {
+    int remaining = rateLimiter.getRemaining();
+    boolean lowBudget = remaining >= 0 && remaining < LOW_RATE_LIMIT_BUDGET;
+    if (receivedObjects && !lowBudget) {
+      intervalMillis = Math.max(floorMillis, intervalMillis / 2);
+    } else {
+      intervalMillis = Math.min(ceilingMillis, intervalMillis * 2);
+    }
+    return intervalMillis;
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import io.cdap.plugin.hubspot.common.HubspotHttpClient;
+import io.cdap.plugin.hubspot.common.HubspotPagesIterator;
+import io.cdap.plugin.hubspot.common.ModificationTimeWindows;
+import org.apache.spark.TaskContext;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.rdd.RDD;
+import org.apache.spark.streaming.StreamingContext;
+import org.apache.spark.streaming.Time;
+import org.apache.spark.streaming.dstream.InputDStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.Option;
+import scala.reflect.ClassTag;
+import scala.reflect.ClassTag$;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Receiver-less stream of Hubspot objects.
+ *
+ * Every batch reads the objects modified since the previous batch with the CRM search API. The driver splits the
+ * modification time window of the batch into at most {@link HubspotStreamingSourceConfig#getMaxSplits()} windows,
+ * which are read by the executors in parallel partitions. The window of the first batch starts with the least
+ * recently modified object, so the first batch, which reads all the objects, is split as well.
+ */
+public class HubspotDirectDStream extends InputDStream<String> {
+  private static final Logger LOG = LoggerFactory.getLogger(HubspotDirectDStream.class);
+  private static final ClassTag<String> STRING_TAG = ClassTag$.MODULE$.apply(String.class);
+  private final HubspotStreamingSourceConfig config;
+  private Long lastWindowEnd;
+
+  HubspotDirectDStream(StreamingContext ssc, HubspotStreamingSourceConfig config) {
+    super(ssc, STRING_TAG);
+    this.config = config;
+  }
+
+  static ClassTag<String> getClassTag() {
+    return STRING_TAG;
+  }
+
+  @Override
+  public void start() {
+    // no-op
+  }
+
+  @Override
+  public void stop() {
+    // no-op
+  }
+
+  @Override
+  public Option<RDD<String>> compute(Time validTime) {
+    long windowEnd = getWindowEnd(validTime.milliseconds(), config.getIndexingDelay());
+    List<long[]> windows;
+    try {
+      windows = getWindows(lastWindowEnd, windowEnd);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to find the least recently modified Hubspot object.", e);
+    }
+    LOG.debug("Reading Hubspot objects modified between '{}' and '{}' in {} partitions.",
+              lastWindowEnd, windowEnd, windows.size());
+    lastWindowEnd = windowEnd;
+
+    HubspotStreamingSourceConfig config = this.config;
+    JavaSparkContext jsc = new JavaSparkContext(context().sparkContext());
+    if (windows.isEmpty()) {
+      return Option.apply(jsc.<String>emptyRDD().rdd());
+    }
+    RDD<String> rdd = jsc.parallelize(windows, windows.size())
+      .flatMap(window -> readWindow(config, window))
+      .rdd();
+    return Option.apply(rdd);
+  }
+
+  private List<long[]> getWindows(@Nullable Long start, long end) throws IOException {
+    if (start != null) {
+      return ModificationTimeWindows.split(start, end, config.getMaxSplits());
+    }
+    Long earliest = null;
+    if (config.getMaxSplits() > 1) {
+      HubspotHttpClient.acquire(config);
+      try {
+        earliest = ModificationTimeWindows.getEarliestModification(config);
+      } finally {
+        HubspotHttpClient.release();
+      }
+    }
+    return getFirstWindows(earliest, end, config.getMaxSplits());
+  }
+
+  static long getWindowEnd(long batchTime, int indexingDelay) {
+    // objects become searchable shortly after they are modified, so the latest changes are left to the next batch
+    return batchTime - TimeUnit.SECONDS.toMillis(indexingDelay);
+  }
+
+  static List<long[]> getFirstWindows(@Nullable Long earliest, long end, int maxSplits) {
+    List<long[]> windows = earliest == null || earliest >= end
+      ? new ArrayList<>()
+      : ModificationTimeWindows.split(earliest, end, maxSplits);
+    if (windows.isEmpty()) {
+      windows.add(new long[] {-1, end});
+    }
+    // a negative start means that the window is not bounded, so nothing modified before the first window is missed
+    windows.get(0)[0] = -1;
+    return windows;
+  }
+
+  private static Iterator<String> readWindow(HubspotStreamingSourceConfig config, long[] window)
+    throws IOException {
+    // every task works on its own deserialized copy of the config
+    config.setModifiedSince(window[0] < 0 ? null : String.valueOf(window[0]));
+    config.setModifiedBefore(String.valueOf(window[1]));
+    HubspotHttpClient.acquire(config);
+    HubspotPagesIterator hubspotPagesIterator;
+    try {
+      hubspotPagesIterator = new HubspotPagesIterator(config);
+    } catch (IOException | RuntimeException e) {
+      HubspotHttpClient.release();
+      throw e;
+    }
+    ClosingIterator iterator = new ClosingIterator(hubspotPagesIterator);
+    // the task may end before the iterator is exhausted, e.g. when it fails or is killed
+    TaskContext taskContext = TaskContext.get();
+    if (taskContext != null) {
+      taskContext.addTaskCompletionListener(context -> iterator.close());
+    }
+    return iterator;
+  }
+
+  /**
+   * Closes the pages iterator and releases the http client once all the objects are read.
+   */
+  private static final class ClosingIterator implements Iterator<String> {
+    private final HubspotPagesIterator delegate;
+    private boolean closed = false;
+
+    private ClosingIterator(HubspotPagesIterator delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (closed) {
+        return false;
+      }
+      boolean hasNext;
+      try {
+        hasNext = delegate.hasNext();
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+      if (!hasNext) {
+        close();
+      }
+      return hasNext;
+    }
+
+    @Override
+    public String next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return delegate.next();
+    }
+
+    private synchronized void close() {
+      if (!closed) {
+        closed = true;
+        delegate.close();
+        HubspotHttpClient.release();
+      }
+    }
+  }
+}
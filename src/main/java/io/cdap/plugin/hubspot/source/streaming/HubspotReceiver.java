@@ -17,78 +17,212 @@
 package io.cdap.plugin.hubspot.source.streaming;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import io.cdap.plugin.hubspot.common.HubspotHelper;
+import io.cdap.plugin.hubspot.common.HubspotHttpClient;
 import io.cdap.plugin.hubspot.common.HubspotPage;
 import io.cdap.plugin.hubspot.common.HubspotPagesIterator;
+import io.cdap.plugin.hubspot.common.HubspotRateLimiter;
+import io.cdap.plugin.hubspot.common.HubspotStateStore;
 import org.apache.spark.storage.StorageLevel;
 import org.apache.spark.streaming.receiver.Receiver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
  * Implementation of Spark receiver to receive Hubspot push topic events.
+ *
+ * Records are stored a page at a time, so that every page becomes one block. If deduplication is enabled, the
+ * current page is read again from its start when it is reloaded, and records which were received recently are
+ * dropped, so records which moved within the page are neither skipped nor emitted twice.
+ *
+ * Failures are retried with exponential backoff from the last stored position. Once the max retry attempts fail in a
+ * row, the receiver is restarted by Spark.
+ *
+ * If a checkpoint path is configured, the position of the receiver is stored after every stored page, and a
+ * restarted receiver resumes from there. Objects of the page the receiver was storing when it stopped may be
+ * received again.
  */
 public class HubspotReceiver extends Receiver<String> {
   private static final Logger LOG = LoggerFactory.getLogger(HubspotReceiver.class);
   private static final String RECEIVER_THREAD_NAME = "hubspot_api_listener";
+  private static final Gson GSON = new Gson();
+  private static final long BASE_FAILURE_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1);
+  private static final long MAX_FAILURE_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(5);
   private final HubspotStreamingSourceConfig config;
+  private transient ExecutorService executor;
 
-  HubspotReceiver(HubspotStreamingSourceConfig config) throws IOException {
-    super(StorageLevel.MEMORY_AND_DISK_2());
+  HubspotReceiver(HubspotStreamingSourceConfig config, StorageLevel storageLevel) throws IOException {
+    super(storageLevel);
     this.config = config;
   }
 
   @Override
   public void onStart() {
+    HubspotHttpClient.acquire(config);
     ThreadFactory namedThreadFactory = new ThreadFactoryBuilder()
       .setNameFormat(RECEIVER_THREAD_NAME + "-%d")
       .build();
 
-    Executors.newSingleThreadExecutor(namedThreadFactory).submit(this::receive);
+    executor = Executors.newSingleThreadExecutor(namedThreadFactory);
+    executor.submit(this::receive);
   }
 
   @Override
   public void onStop() {
-    // There is nothing we can do here as the thread calling receive()
-    // is designed to stop by itself if isStopped() returns false
+    // The thread calling receive() stops by itself once isStopped() returns true, interrupting it ends any wait
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+    HubspotHttpClient.release();
   }
 
   private void receive() {
-    try {
-      HubspotPagesIterator hubspotPagesIterator = new HubspotPagesIterator(config);
+    AdaptivePullInterval pullInterval = config.isPullIntervalAdaptive()
+      ? new AdaptivePullInterval(TimeUnit.SECONDS.toMillis(config.getMinPullInterval()),
+                                 TimeUnit.SECONDS.toMillis(config.getMaxPullInterval()),
+                                 HubspotRateLimiter.getInstance(config))
+      : null;
+    RecordDeduplicator deduplicator = config.getDedupeWindowSize() > 0
+      ? new RecordDeduplicator(config.getDedupeWindowSize())
+      : null;
+    boolean receivedObjects = false;
+    // the position up to which records have been stored, the receiver continues from there after a failure
+    ReceiverPosition position = loadCheckpoint();
+    HubspotPagesIterator hubspotPagesIterator = null;
+    int failures = 0;
 
-      while (!isStopped()) {
+    while (!isStopped()) {
+      try {
+        if (hubspotPagesIterator == null) {
+          hubspotPagesIterator = createPagesIterator(position);
+        }
         if (hubspotPagesIterator.hasNext()) {
-          store(hubspotPagesIterator.next().toString());
+          // the rest of the page is stored as one block, store() returns once the block is stored
+          List<String> records = hubspotPagesIterator.nextRecordsOfPage();
+          if (deduplicator != null) {
+            records.removeIf(deduplicator::isDuplicate);
+          }
+          // objects received again are not new, they must not keep the pull interval short
+          receivedObjects |= !records.isEmpty();
+          if (!records.isEmpty()) {
+            // an empty block would still be written, and logged ahead with the WAL on
+            store(records.iterator());
+          }
+          position = new ReceiverPosition(hubspotPagesIterator.getCurrentPageOffset(),
+                                          hubspotPagesIterator.getIteratorPosition());
+          saveCheckpoint(position);
         } else {
-          Integer minutesToSleep = config.getPullFrequency().getMinutesValue();
-          LOG.debug(String.format("Waiting for '%d' minutes to pull.", minutesToSleep));
-          Thread.sleep(TimeUnit.MINUTES.toMillis(minutesToSleep));
+          long millisToSleep = pullInterval == null
+            ? TimeUnit.MINUTES.toMillis(config.getPullFrequency().getMinutesValue())
+            : pullInterval.next(receivedObjects);
+          receivedObjects = false;
+          LOG.debug(String.format("Waiting for '%d' ms to pull.", millisToSleep));
+          Thread.sleep(millisToSleep);
 
           // reload current page
           HubspotPage currentPage = new HubspotHelper().getHubspotPage(config,
                                                                        hubspotPagesIterator.getCurrentPageOffset());
           int iteratorPosition = hubspotPagesIterator.getIteratorPosition();
 
-          hubspotPagesIterator = new HubspotPagesIterator(config, currentPage,
-                                                          hubspotPagesIterator.getCurrentPageOffset());
-          hubspotPagesIterator.setIteratorPosition(iteratorPosition);
+          String currentPageOffset = hubspotPagesIterator.getCurrentPageOffset();
+          hubspotPagesIterator.close();
+          hubspotPagesIterator = new HubspotPagesIterator(config, currentPage, currentPageOffset);
+          if (deduplicator == null) {
+            hubspotPagesIterator.setIteratorPosition(iteratorPosition);
+          }
+          // otherwise the whole page is read again, so records which moved within the page are not skipped
+        }
+        failures = 0;
+      } catch (InterruptedException e) {
+        // the receiver is being stopped
+        Thread.currentThread().interrupt();
+        break;
+      } catch (Exception e) {
+        if (isStopped()) {
+          break;
+        }
+        if (hubspotPagesIterator != null) {
+          hubspotPagesIterator.close();
+          hubspotPagesIterator = null;
+        }
+        failures++;
+        // Since it's top level method of thread, we need to log the exception or it will be unseen
+        if (failures >= config.getMaxRetryAttempts()) {
+          LOG.error("Exception while receiving messages from hubspot, restarting the receiver", e);
+          restart(String.format("Receiving messages from hubspot failed %d times in a row", failures), e);
+          return;
+        }
+        long delay = getFailureDelay(failures);
+        LOG.warn(String.format("Exception while receiving messages from hubspot, retrying in %d ms", delay), e);
+        reportError("Exception while receiving messages from hubspot", e);
+        try {
+          Thread.sleep(delay);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          break;
         }
       }
-    } catch (Exception e) {
-      String errorMessage = "Exception while receiving messages from hubspot";
-      /* TO DO  https://issues.cask.co/browse/PLUGIN-357
-      The receiver will get terminated on error and stop receiving messages.
-      Retry Logic needs to be implemented.
-      */
-      // Since it's top level method of thread, we need to log the exception or it will be unseen
-      LOG.error(errorMessage, e);
-      throw new RuntimeException(errorMessage, e);
+    }
+    if (hubspotPagesIterator != null) {
+      hubspotPagesIterator.close();
+    }
+  }
+
+  /**
+   * Returns the delay before the next attempt after the given number of consecutive failures,
+   * growing exponentially with random jitter.
+   */
+  static long getFailureDelay(int failures) {
+    long delay = Math.min(MAX_FAILURE_DELAY_MILLIS, BASE_FAILURE_DELAY_MILLIS << Math.min(failures - 1, 20));
+    return ThreadLocalRandom.current().nextLong(delay / 2, delay + 1);
+  }
+
+  private HubspotPagesIterator createPagesIterator(@Nullable ReceiverPosition position) throws IOException {
+    if (position == null) {
+      return new HubspotPagesIterator(config);
+    }
+    LOG.info("Resuming from page offset '{}', position {}.", position.getPageOffset(), position.getIteratorPosition());
+    HubspotPage page = new HubspotHelper().getHubspotPage(config, position.getPageOffset());
+    HubspotPagesIterator hubspotPagesIterator = new HubspotPagesIterator(config, page, position.getPageOffset());
+    hubspotPagesIterator.setIteratorPosition(position.getIteratorPosition());
+    return hubspotPagesIterator;
+  }
+
+  @Nullable
+  ReceiverPosition loadCheckpoint() {
+    if (!config.isCheckpointed()) {
+      return null;
+    }
+    try {
+      String state = new HubspotStateStore(config.getCheckpointPath()).read();
+      return state == null ? null : GSON.fromJson(state, ReceiverPosition.class);
+    } catch (IOException | JsonParseException e) {
+      LOG.warn(String.format("Failed to read the checkpoint '%s', starting from the first page.",
+                             config.getCheckpointPath()), e);
+      return null;
+    }
+  }
+
+  void saveCheckpoint(ReceiverPosition position) {
+    if (!config.isCheckpointed()) {
+      return;
+    }
+    try {
+      new HubspotStateStore(config.getCheckpointPath()).write(GSON.toJson(position));
+    } catch (IOException e) {
+      LOG.warn(String.format("Failed to write the checkpoint '%s'.", config.getCheckpointPath()), e);
     }
   }
 }
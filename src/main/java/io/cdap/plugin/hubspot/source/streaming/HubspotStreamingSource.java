@@ -49,7 +49,7 @@ public class HubspotStreamingSource extends StreamingSource<StructuredRecord> {
     config.validate(collector); // validate when macros are not substituted
     collector.getOrThrowException();
 
-    pipelineConfigurer.getStageConfigurer().setOutputSchema(config.getSchema());
+    pipelineConfigurer.getStageConfigurer().setOutputSchema(config.getOutputSchema(collector));
   }
 
   @Override
@@ -16,22 +16,113 @@
 
 package io.cdap.plugin.hubspot.source.streaming;
 
+import com.google.gson.Gson;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Macro;
 import io.cdap.cdap.api.annotation.Name;
+import io.cdap.cdap.etl.api.FailureCollector;
+import io.cdap.plugin.hubspot.common.BaseHubspotConfig;
+import io.cdap.plugin.hubspot.common.ObjectType;
 import io.cdap.plugin.hubspot.common.SourceHubspotConfig;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
 /**
  * Config for {@link HubspotStreamingSource}.
  */
 public class HubspotStreamingSourceConfig extends SourceHubspotConfig {
   public static final String PULL_FREQUENCY = "pullFrequency";
+  public static final String ADDITIONAL_OBJECT_TYPES = "additionalObjectTypes";
+  public static final String STREAMING_MODE = "streamingMode";
+  public static final String CHECKPOINT_PATH = "checkpointPath";
+  public static final String MIN_PULL_INTERVAL = "minPullInterval";
+  public static final String MAX_PULL_INTERVAL = "maxPullInterval";
+  public static final String DEDUPE_WINDOW_SIZE = "dedupeWindowSize";
+  public static final String STORAGE_LEVEL = "storageLevel";
+  public static final String STORAGE_LEVEL_DEFAULT = "MEMORY_AND_DISK_2";
+  private static final List<String> STORAGE_LEVELS = Arrays.asList(
+    "MEMORY_ONLY", "MEMORY_ONLY_2", "MEMORY_ONLY_SER", "MEMORY_ONLY_SER_2",
+    "MEMORY_AND_DISK", "MEMORY_AND_DISK_2", "MEMORY_AND_DISK_SER", "MEMORY_AND_DISK_SER_2",
+    "DISK_ONLY", "DISK_ONLY_2");
+  public static final String WEBHOOK_PORT = "webhookPort";
+  public static final String CLIENT_SECRET = "clientSecret";
+  public static final String WEBHOOK_HYDRATED = "webhookHydrated";
 
   @Name(PULL_FREQUENCY)
   @Description("Delay between polling of Hubspot API for updates.")
   @Macro
   private String pullFrequency;
 
+  @Name(ADDITIONAL_OBJECT_TYPES)
+  @Description("Comma-separated list of further object types streamed along with the selected one.")
+  @Macro
+  @Nullable
+  private String additionalObjectTypes;
+
+  @Name(STREAMING_MODE)
+  @Description("Way objects are pulled from Hubspot. 'Receiver' pulls with a long-running receiver, " +
+    "'Direct' pulls the objects modified since the previous batch in parallel partitions of every batch.")
+  @Macro
+  @Nullable
+  private String streamingMode;
+
+  @Name(CHECKPOINT_PATH)
+  @Description("Path of the file the position of the receiver is stored in, so that a restarted receiver " +
+    "resumes from where it stopped.")
+  @Macro
+  @Nullable
+  private String checkpointPath;
+
+  @Name(MIN_PULL_INTERVAL)
+  @Description("Shortest delay in seconds between pulls. If set, the delay adapts to how often objects change, " +
+    "instead of being the pull frequency.")
+  @Macro
+  @Nullable
+  private Integer minPullInterval;
+
+  @Name(MAX_PULL_INTERVAL)
+  @Description("Longest delay in seconds between pulls, if the delay adapts to how often objects change. " +
+    "Defaults to the pull frequency.")
+  @Macro
+  @Nullable
+  private Integer maxPullInterval;
+
+  @Name(DEDUPE_WINDOW_SIZE)
+  @Description("Number of most recently received objects the receiver remembers, so that objects received again " +
+    "are not emitted twice. 0 disables deduplication. Defaults to 0.")
+  @Macro
+  @Nullable
+  private Integer dedupeWindowSize;
+
+  @Name(STORAGE_LEVEL)
+  @Description("Storage level of the blocks of received objects, e.g. MEMORY_AND_DISK_SER. " +
+    "Defaults to MEMORY_AND_DISK_2.")
+  @Macro
+  @Nullable
+  private String storageLevel;
+
+  @Name(WEBHOOK_PORT)
+  @Description("Port the webhook endpoint listens on.")
+  @Macro
+  @Nullable
+  private Integer webhookPort;
+
+  @Name(CLIENT_SECRET)
+  @Description("Client secret of the Hubspot app the webhook requests are signed with.")
+  @Macro
+  @Nullable
+  private String clientSecret;
+
+  @Name(WEBHOOK_HYDRATED)
+  @Description("Whether the objects the webhook events refer to are read and emitted instead of the events.")
+  @Macro
+  @Nullable
+  private Boolean webhookHydrated;
+
   public HubspotStreamingSourceConfig(String referenceName) {
     super(referenceName);
   }
@@ -39,4 +130,213 @@ public class HubspotStreamingSourceConfig extends SourceHubspotConfig {
   public PullFrequency getPullFrequency() {
     return PullFrequency.fromValue(pullFrequency);
   }
+
+  /**
+   * Returns the additional object types.
+   * @return the list of additional object types
+   */
+  public List<String> getAdditionalObjectTypes() {
+    List<String> list = new ArrayList<>();
+    if (additionalObjectTypes != null) {
+      for (String type : additionalObjectTypes.split(",")) {
+        if (!type.trim().isEmpty()) {
+          list.add(type.trim());
+        }
+      }
+    }
+    return list;
+  }
+
+  /**
+   * Returns a copy of this config which streams the given object type. The checkpoint path of the copy is
+   * derived from the checkpoint path of this config, so that the streams of different types do not share it.
+   * @param objectType the object type to stream
+   * @return the config for the object type
+   */
+  public HubspotStreamingSourceConfig forObjectType(String objectType) {
+    Gson gson = new Gson();
+    HubspotStreamingSourceConfig copy = gson.fromJson(gson.toJson(this), HubspotStreamingSourceConfig.class);
+    copy.objectType = objectType;
+    copy.additionalObjectTypes = null;
+    if (isCheckpointed()) {
+      copy.checkpointPath = checkpointPath + "-" + ObjectType.fromString(objectType).name().toLowerCase();
+    }
+    return copy;
+  }
+
+  public boolean isPullIntervalAdaptive() {
+    return minPullInterval != null;
+  }
+
+  @Nullable
+  public Integer getMinPullInterval() {
+    return minPullInterval;
+  }
+
+  public int getMaxPullInterval() {
+    return maxPullInterval == null
+      ? (int) TimeUnit.MINUTES.toSeconds(getPullFrequency().getMinutesValue())
+      : maxPullInterval;
+  }
+
+  public int getDedupeWindowSize() {
+    return dedupeWindowSize == null ? 0 : dedupeWindowSize;
+  }
+
+  public String getStorageLevel() {
+    return storageLevel == null || storageLevel.isEmpty() ? STORAGE_LEVEL_DEFAULT : storageLevel;
+  }
+
+  @Nullable
+  public Integer getWebhookPort() {
+    return webhookPort;
+  }
+
+  @Nullable
+  public String getClientSecret() {
+    return clientSecret;
+  }
+
+  public boolean isWebhookHydrated() {
+    return webhookHydrated != null && webhookHydrated;
+  }
+
+  public StreamingMode getStreamingMode() {
+    return streamingMode == null || streamingMode.isEmpty()
+      ? StreamingMode.RECEIVER
+      : StreamingMode.fromValue(streamingMode);
+  }
+
+  @Nullable
+  public String getCheckpointPath() {
+    return checkpointPath;
+  }
+
+  public boolean isCheckpointed() {
+    return checkpointPath != null && !checkpointPath.isEmpty();
+  }
+
+  @Override
+  public boolean isIncremental() {
+    return getStreamingMode() == StreamingMode.DIRECT || super.isIncremental();
+  }
+
+  @Override
+  public boolean isCrmV3Format() {
+    // webhook events are not objects, unless the objects they refer to are read
+    return getStreamingMode() == StreamingMode.WEBHOOK ? isWebhookHydrated() : super.isCrmV3Format();
+  }
+
+  @Override
+  public void validate(FailureCollector failureCollector) {
+    super.validate(failureCollector);
+    validatePullInterval(failureCollector);
+    validateWebhook(failureCollector);
+    validateAdditionalObjectTypes(failureCollector);
+    if (!containsMacro(STORAGE_LEVEL) && !STORAGE_LEVELS.contains(getStorageLevel())) {
+      failureCollector.addFailure(String.format("Storage level '%s' is not valid.", storageLevel),
+                                  String.format("Enter one of %s.", String.join(", ", STORAGE_LEVELS)))
+        .withConfigProperty(STORAGE_LEVEL);
+    }
+    if (!containsMacro(DEDUPE_WINDOW_SIZE) && getDedupeWindowSize() < 0) {
+      failureCollector.addFailure(String.format("Dedupe window size '%d' is not valid.", dedupeWindowSize),
+                                  "Enter zero or a positive number.")
+        .withConfigProperty(DEDUPE_WINDOW_SIZE);
+    }
+    if (containsMacro(STREAMING_MODE) || containsMacro(BaseHubspotConfig.OBJECT_TYPE)) {
+      return;
+    }
+    try {
+      if (getStreamingMode() == StreamingMode.DIRECT && !isIncrementalSupported()) {
+        failureCollector.addFailure(String.format("Object Type '%s' can not be streamed directly.", objectType),
+                                    "Select Contacts, Companies, Deals, Products or Tickets, " +
+                                      "or the 'Receiver' streaming mode.")
+          .withConfigProperty(STREAMING_MODE);
+      }
+    } catch (IllegalArgumentException e) {
+      failureCollector.addFailure(e.getMessage(), null).withConfigProperty(STREAMING_MODE);
+    }
+  }
+
+  private void validatePullInterval(FailureCollector failureCollector) {
+    if (!containsMacro(MIN_PULL_INTERVAL) && minPullInterval != null && minPullInterval < 1) {
+      failureCollector.addFailure(String.format("Min pull interval '%d' is not valid.", minPullInterval),
+                                  "Enter a positive number of seconds.")
+        .withConfigProperty(MIN_PULL_INTERVAL);
+    }
+    if (!containsMacro(MIN_PULL_INTERVAL) && !containsMacro(MAX_PULL_INTERVAL)
+      && minPullInterval != null && maxPullInterval != null && maxPullInterval < minPullInterval) {
+      failureCollector.addFailure(String.format("Max pull interval '%d' is less than min pull interval '%d'.",
+                                                maxPullInterval, minPullInterval),
+                                  "Enter a number of seconds not less than the min pull interval.")
+        .withConfigProperty(MAX_PULL_INTERVAL);
+    }
+  }
+
+  private void validateWebhook(FailureCollector failureCollector) {
+    if (containsMacro(STREAMING_MODE) || getStreamingModeOrNull() != StreamingMode.WEBHOOK) {
+      return;
+    }
+    if (!containsMacro(WEBHOOK_PORT) && (webhookPort == null || webhookPort < 1 || webhookPort > 65535)) {
+      failureCollector.addFailure(String.format("Webhook port '%s' is not valid.", webhookPort),
+                                  "Enter a port number between 1 and 65535.")
+        .withConfigProperty(WEBHOOK_PORT);
+    }
+    if (!containsMacro(CLIENT_SECRET) && (clientSecret == null || clientSecret.isEmpty())) {
+      failureCollector.addFailure("Client secret is not set.", "Enter the client secret of the Hubspot app.")
+        .withConfigProperty(CLIENT_SECRET);
+    }
+    if (containsMacro(WEBHOOK_HYDRATED) || containsMacro(BaseHubspotConfig.OBJECT_TYPE) || !isWebhookHydrated()) {
+      return;
+    }
+    try {
+      if (!isIncrementalSupported()) {
+        failureCollector.addFailure(String.format("Objects of type '%s' can not be read for webhook events.",
+                                                  objectType),
+                                    "Select Contacts, Companies, Deals, Products or Tickets, or disable hydration.")
+          .withConfigProperty(WEBHOOK_HYDRATED);
+      }
+    } catch (IllegalArgumentException e) {
+      // invalid object type is reported by validateObjectType
+    }
+  }
+
+  @Nullable
+  private StreamingMode getStreamingModeOrNull() {
+    try {
+      return getStreamingMode();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private void validateAdditionalObjectTypes(FailureCollector failureCollector) {
+    if (containsMacro(ADDITIONAL_OBJECT_TYPES) || getAdditionalObjectTypes().isEmpty()) {
+      return;
+    }
+    boolean direct = !containsMacro(STREAMING_MODE) && getStreamingModeOrNull() == StreamingMode.DIRECT;
+    for (String type : getAdditionalObjectTypes()) {
+      try {
+        if (direct && !forObjectType(type).isIncrementalSupported()) {
+          failureCollector.addFailure(String.format("Object Type '%s' can not be streamed directly.", type),
+                                      "Remove it from the additional object types, " +
+                                        "or select the 'Receiver' streaming mode.")
+            .withConfigProperty(ADDITIONAL_OBJECT_TYPES);
+        }
+      } catch (IllegalArgumentException e) {
+        failureCollector.addFailure(e.getMessage(), "Enter object types as they are named in the Objects list.")
+          .withConfigProperty(ADDITIONAL_OBJECT_TYPES);
+      }
+    }
+    if (!containsMacro(STREAMING_MODE) && getStreamingModeOrNull() == StreamingMode.WEBHOOK) {
+      failureCollector.addFailure("Additional object types can not be set in the 'Webhook' streaming mode.",
+                                  "Subscribe the Hubspot app to the events of all the object types instead.")
+        .withConfigProperty(ADDITIONAL_OBJECT_TYPES);
+    }
+    if (!containsMacro(TYPED_SCHEMA) && isTypedSchema()) {
+      failureCollector.addFailure("Additional object types can not be set with the typed schema.",
+                                  "Stream every object type by its own source, or disable the typed schema.")
+        .withConfigProperty(ADDITIONAL_OBJECT_TYPES);
+    }
+  }
 }
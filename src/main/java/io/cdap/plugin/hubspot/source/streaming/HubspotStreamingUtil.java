@@ -17,18 +17,29 @@
 package io.cdap.plugin.hubspot.source.streaming;
 
 import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.cdap.etl.api.streaming.StreamingContext;
 import io.cdap.plugin.hubspot.common.HubspotHelper;
+import io.cdap.plugin.hubspot.common.HubspotTypedSchema;
+import org.apache.spark.storage.StorageLevel;
 import org.apache.spark.streaming.api.java.JavaDStream;
+import org.apache.spark.streaming.api.java.JavaInputDStream;
 import org.apache.spark.streaming.api.java.JavaStreamingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Hubspot streaming source util. Which encapsulated spark classes from {@link HubspotStreamingSource}, so
  * that validation does not fail loading spark classes.
  */
 public class HubspotStreamingUtil {
+  private static final Logger LOG = LoggerFactory.getLogger(HubspotStreamingUtil.class);
+  private static final String WRITE_AHEAD_LOG_ENABLE = "spark.streaming.receiver.writeAheadLog.enable";
+
   /**
    * Returns the JavaDStream.
    * @param config the hubspot streaming source config
@@ -41,7 +52,62 @@ public class HubspotStreamingUtil {
     throws IOException {
     JavaStreamingContext jssc = streamingContext.getSparkStreamingContext();
 
-    return jssc.receiverStream(new HubspotReceiver(config))
-      .map(jsonString -> HubspotHelper.transform(jsonString, config));
+    if (config.isTypedSchema()) {
+      // the property definitions are read once, the schema is shipped to the executors with the transformation
+      Schema schema = HubspotTypedSchema.getSchema(config);
+      if (config.getSelectedProperties().isEmpty()) {
+        config.selectedProperties = String.join(",", HubspotTypedSchema.getPropertyNames(schema));
+      }
+      String objectType = config.objectType;
+      return getObjectStream(config, jssc)
+        .map(jsonString -> HubspotTypedSchema.transform(jsonString, objectType, schema));
+    }
+    JavaDStream<StructuredRecord> stream = getStream(config, jssc);
+    List<String> additionalObjectTypes = config.getAdditionalObjectTypes();
+    if (additionalObjectTypes.isEmpty()) {
+      return stream;
+    }
+    // every object type is pulled by its own receiver or partitions, the objectType field tells them apart
+    List<JavaDStream<StructuredRecord>> additionalStreams = new ArrayList<>();
+    for (String objectType : additionalObjectTypes) {
+      additionalStreams.add(getStream(config.forObjectType(objectType), jssc));
+    }
+    return jssc.union(stream, additionalStreams);
+  }
+
+  private static JavaDStream<StructuredRecord> getStream(HubspotStreamingSourceConfig config,
+                                                         JavaStreamingContext jssc) throws IOException {
+    // only the values the transformation needs are shipped to the executors, not the whole config
+    String objectType = config.objectType;
+    Schema schema = config.getSchema();
+    return getObjectStream(config, jssc).map(jsonString -> HubspotHelper.transform(jsonString, objectType, schema));
+  }
+
+  private static JavaDStream<String> getObjectStream(HubspotStreamingSourceConfig config,
+                                                     JavaStreamingContext jssc) throws IOException {
+    switch (config.getStreamingMode()) {
+      case DIRECT:
+        return JavaInputDStream.fromInputDStream(new HubspotDirectDStream(jssc.ssc(), config),
+                                                 HubspotDirectDStream.getClassTag());
+      case WEBHOOK:
+        return jssc.receiverStream(new HubspotWebhookReceiver(config, getStorageLevel(config, jssc)));
+      default:
+        return jssc.receiverStream(new HubspotReceiver(config, getStorageLevel(config, jssc)));
+    }
+  }
+
+  /**
+   * Returns the configured storage level of received blocks. With the write-ahead log enabled, received blocks are
+   * already stored reliably by the log, so they are not replicated.
+   */
+  private static StorageLevel getStorageLevel(HubspotStreamingSourceConfig config, JavaStreamingContext jssc) {
+    StorageLevel storageLevel = StorageLevel.fromString(config.getStorageLevel());
+    boolean writeAheadLogEnabled = jssc.sparkContext().getConf().getBoolean(WRITE_AHEAD_LOG_ENABLE, false);
+    if (writeAheadLogEnabled && storageLevel.replication() > 1) {
+      LOG.info("Write-ahead log is enabled, received blocks are not replicated.");
+      return StorageLevel.apply(storageLevel.useDisk(), storageLevel.useMemory(), storageLevel.useOffHeap(),
+                                storageLevel.deserialized(), 1);
+    }
+    return storageLevel;
   }
 }
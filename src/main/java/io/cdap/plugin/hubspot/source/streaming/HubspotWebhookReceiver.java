@@ -0,0 +1,200 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.cdap.plugin.hubspot.common.HubspotBatchRead;
+import io.cdap.plugin.hubspot.common.HubspotHttpClient;
+import io.cdap.plugin.hubspot.common.ObjectType;
+import org.apache.spark.storage.StorageLevel;
+import org.apache.spark.streaming.receiver.Receiver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spark receiver which receives Hubspot webhook events pushed to an embedded HTTP endpoint.
+ *
+ * Events are stored as they are, or, if hydration is enabled, the objects they refer to are read with the CRM
+ * batch read API and stored instead, skipping the events of other object types. If the objects can not be read, the
+ * same events are read again after a growing delay, while new events wait in the queue, or are rejected once it is
+ * full. Events are buffered in memory, and kept when the receiver restarts, but events accepted shortly before the
+ * receiver stops may be lost.
+ */
+public class HubspotWebhookReceiver extends Receiver<String> {
+  private static final Logger LOG = LoggerFactory.getLogger(HubspotWebhookReceiver.class);
+  private static final String RECEIVER_THREAD_NAME = "hubspot_webhook_listener";
+  private static final JsonParser JSON_PARSER = new JsonParser();
+  private static final int EVENT_QUEUE_CAPACITY = 10000;
+  private static final long POLL_TIMEOUT_MILLIS = 500;
+  private static final long HYDRATE_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1);
+  private static final long MAX_HYDRATE_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private final HubspotStreamingSourceConfig config;
+  private transient HubspotWebhookServer server;
+  // kept when the receiver restarts, so that accepted events are not lost
+  private transient BlockingQueue<String> events;
+  private transient List<String> pendingBatch;
+  private transient ExecutorService executor;
+
+  HubspotWebhookReceiver(HubspotStreamingSourceConfig config, StorageLevel storageLevel) {
+    super(storageLevel);
+    this.config = config;
+  }
+
+  @Override
+  public void onStart() {
+    HubspotHttpClient.acquire(config);
+    if (events == null) {
+      events = new ArrayBlockingQueue<>(EVENT_QUEUE_CAPACITY);
+    }
+    server = new HubspotWebhookServer(config.getWebhookPort(), config.getClientSecret(), events);
+    try {
+      server.start();
+    } catch (IOException e) {
+      stop("Failed to start the Hubspot webhook endpoint", e);
+      return;
+    }
+    executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                                                   .setNameFormat(RECEIVER_THREAD_NAME + "-%d")
+                                                   .build());
+    executor.submit(this::receive);
+  }
+
+  @Override
+  public void onStop() {
+    if (server != null) {
+      server.stop();
+    }
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+    HubspotHttpClient.release();
+  }
+
+  private void receive() {
+    try {
+      while (!isStopped()) {
+        if (pendingBatch == null) {
+          String event = events.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+          if (event == null) {
+            continue;
+          }
+          pendingBatch = new ArrayList<>();
+          pendingBatch.add(event);
+          events.drainTo(pendingBatch, HubspotBatchRead.MAX_BATCH_SIZE - 1);
+        }
+        // the batch stays pending until it is stored, so a restart does not lose it
+        if (!config.isWebhookHydrated()) {
+          store(pendingBatch.iterator());
+          pendingBatch = null;
+        } else if (storeHydrated(pendingBatch)) {
+          pendingBatch = null;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      // Since it's top level method of thread, we need to log the exception or it will be unseen
+      LOG.error("Exception while receiving Hubspot webhook events", e);
+      restart("Exception while receiving Hubspot webhook events", e);
+    }
+  }
+
+  /**
+   * Reads and stores the objects the events refer to, retrying until it succeeds or the receiver is stopped.
+   */
+  private boolean storeHydrated(List<String> batch) throws InterruptedException {
+    long delay = HYDRATE_RETRY_DELAY_MILLIS;
+    while (!isStopped()) {
+      List<String> objects;
+      try {
+        objects = hydrate(batch);
+      } catch (IOException e) {
+        LOG.warn(String.format("Failed to read the objects of %d Hubspot webhook events, retrying in %d ms.",
+                               batch.size(), delay), e);
+        Thread.sleep(delay);
+        delay = Math.min(delay * 2, MAX_HYDRATE_RETRY_DELAY_MILLIS);
+        continue;
+      }
+      store(objects.iterator());
+      return true;
+    }
+    return false;
+  }
+
+  private List<String> hydrate(List<String> events) throws IOException {
+    return HubspotBatchRead.readObjects(config, getObjectIds(events, config.getObjectType()));
+  }
+
+  /**
+   * Returns the ids of the objects of the given type the events refer to. The app endpoint receives the events of
+   * all its subscriptions, so events of other object types are skipped.
+   * @param events the webhook events
+   * @param objectType the object type to return the ids of
+   * @return the object ids, each once, in the order of the events
+   */
+  static Set<String> getObjectIds(List<String> events, ObjectType objectType) {
+    String subscriptionPrefix = getSubscriptionPrefix(objectType);
+    // several events of one object are served by one read
+    Set<String> ids = new LinkedHashSet<>();
+    for (String event : events) {
+      JsonObject json = JSON_PARSER.parse(event).getAsJsonObject();
+      JsonElement subscriptionType = json.get("subscriptionType");
+      JsonElement objectId = json.get("objectId");
+      if (subscriptionType == null || !subscriptionType.isJsonPrimitive()
+        || !subscriptionType.getAsString().startsWith(subscriptionPrefix)) {
+        LOG.debug("Skipping Hubspot webhook event of subscription type '{}'.", subscriptionType);
+        continue;
+      }
+      if (objectId != null && objectId.isJsonPrimitive()) {
+        ids.add(objectId.getAsString());
+      }
+    }
+    return ids;
+  }
+
+  private static String getSubscriptionPrefix(ObjectType objectType) {
+    switch (objectType) {
+      case CONTACTS:
+        return "contact.";
+      case COMPANIES:
+        return "company.";
+      case DEALS:
+        return "deal.";
+      case PRODUCTS:
+        return "product.";
+      case TICKETS:
+        return "ticket.";
+      default:
+        throw new IllegalArgumentException(String.format("Objects of type '%s' can not be read for webhook events.",
+                                                         objectType));
+    }
+  }
+}
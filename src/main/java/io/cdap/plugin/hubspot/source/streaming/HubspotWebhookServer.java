@@ -0,0 +1,234 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Embedded HTTP endpoint which accepts Hubspot webhook events.
+ *
+ * Every request must be signed with the client secret of the Hubspot app, using either the v1 or the v3 signature.
+ * Events of accepted requests are put into the given queue as JSON strings. Requests whose events do not fit into
+ * the queue are rejected with 503, so that Hubspot sends them again later. Bodies are read before the signature can
+ * be checked, so requests with bodies larger than any Hubspot sends are rejected with 413 without reading them.
+ */
+public class HubspotWebhookServer {
+  private static final Logger LOG = LoggerFactory.getLogger(HubspotWebhookServer.class);
+  private static final JsonParser JSON_PARSER = new JsonParser();
+
+  static final String SIGNATURE_HEADER = "X-HubSpot-Signature";
+  static final String SIGNATURE_VERSION_HEADER = "X-HubSpot-Signature-Version";
+  static final String SIGNATURE_V3_HEADER = "X-HubSpot-Signature-v3";
+  static final String TIMESTAMP_HEADER = "X-HubSpot-Request-Timestamp";
+  private static final long MAX_TIMESTAMP_AGE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  // Hubspot sends at most 100 events per request, which take a few tens of KB
+  static final int MAX_BODY_BYTES = 1024 * 1024;
+
+  private final int port;
+  private final String clientSecret;
+  private final BlockingQueue<String> events;
+  private HttpServer server;
+
+  /**
+   * Constructor for HubspotWebhookServer object.
+   * @param port the port to listen on, 0 to pick a free one
+   * @param clientSecret the client secret of the Hubspot app the requests are signed with
+   * @param events the queue the received events are put into
+   */
+  public HubspotWebhookServer(int port, String clientSecret, BlockingQueue<String> events) {
+    this.port = port;
+    this.clientSecret = clientSecret;
+    this.events = events;
+  }
+
+  /**
+   * Starts accepting requests.
+   * @throws IOException if the server can not listen on the port
+   */
+  public void start() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(port), 0);
+    server.createContext("/", this::handle);
+    server.start();
+    LOG.info("Listening for Hubspot webhook events on port {}.", getPort());
+  }
+
+  /**
+   * Stops accepting requests.
+   */
+  public void stop() {
+    if (server != null) {
+      server.stop(0);
+      server = null;
+    }
+  }
+
+  /**
+   * Returns the port the server listens on.
+   * @return the port
+   */
+  public int getPort() {
+    return server == null ? port : server.getAddress().getPort();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        respond(exchange, 405);
+        return;
+      }
+      byte[] bytes = isContentLengthExceeded(exchange) ? null : readBody(exchange.getRequestBody());
+      if (bytes == null) {
+        respond(exchange, 413);
+        return;
+      }
+      String body = new String(bytes, StandardCharsets.UTF_8);
+      if (!isSignatureValid(exchange, body)) {
+        LOG.warn("Rejected Hubspot webhook request with an invalid signature.");
+        respond(exchange, 401);
+        return;
+      }
+      List<String> received = parseEvents(body);
+      if (received == null) {
+        respond(exchange, 400);
+        return;
+      }
+      if (events.remainingCapacity() < received.size()) {
+        respond(exchange, 503);
+        return;
+      }
+      events.addAll(received);
+      respond(exchange, 204);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private boolean isSignatureValid(HttpExchange exchange, String body) {
+    String signature = exchange.getRequestHeaders().getFirst(SIGNATURE_HEADER);
+    String version = exchange.getRequestHeaders().getFirst(SIGNATURE_VERSION_HEADER);
+    if (signature != null && "v1".equalsIgnoreCase(version)) {
+      return isEqual(signature, getV1Signature(clientSecret, body));
+    }
+    String signatureV3 = exchange.getRequestHeaders().getFirst(SIGNATURE_V3_HEADER);
+    String timestamp = exchange.getRequestHeaders().getFirst(TIMESTAMP_HEADER);
+    if (signatureV3 == null || timestamp == null) {
+      return false;
+    }
+    try {
+      if (Math.abs(System.currentTimeMillis() - Long.parseLong(timestamp)) > MAX_TIMESTAMP_AGE_MILLIS) {
+        return false;
+      }
+    } catch (NumberFormatException e) {
+      return false;
+    }
+    String host = exchange.getRequestHeaders().getFirst("Host");
+    String uri = String.format("https://%s%s", host, exchange.getRequestURI());
+    return isEqual(signatureV3, getV3Signature(clientSecret, "POST", uri, body, timestamp));
+  }
+
+  static String getV1Signature(String clientSecret, String body) {
+    return DigestUtils.sha256Hex(clientSecret + body);
+  }
+
+  static String getV3Signature(String clientSecret, String method, String uri, String body, String timestamp) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(new SecretKeySpec(clientSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+      byte[] hash = mac.doFinal((method + uri + body + timestamp).getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to compute the webhook signature.", e);
+    }
+  }
+
+  private static boolean isEqual(String signature, String expected) {
+    // constant time comparison, so the signature can not be guessed from response times
+    return MessageDigest.isEqual(signature.getBytes(StandardCharsets.UTF_8),
+                                 expected.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Nullable
+  private static List<String> parseEvents(String body) {
+    JsonElement json;
+    try {
+      json = JSON_PARSER.parse(body);
+    } catch (JsonParseException e) {
+      return null;
+    }
+    if (!json.isJsonArray()) {
+      return null;
+    }
+    List<String> received = new ArrayList<>();
+    for (JsonElement event : json.getAsJsonArray()) {
+      received.add(event.toString());
+    }
+    return received;
+  }
+
+  private static boolean isContentLengthExceeded(HttpExchange exchange) {
+    String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+    try {
+      return contentLength != null && Long.parseLong(contentLength) > MAX_BODY_BYTES;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Reads the body, unless it is larger than {@link #MAX_BODY_BYTES}, e.g. a chunked body without a length.
+   */
+  @Nullable
+  private static byte[] readBody(InputStream in) throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      if (body.size() + read > MAX_BODY_BYTES) {
+        return null;
+      }
+      body.write(buffer, 0, read);
+    }
+    return body.toByteArray();
+  }
+
+  private static void respond(HttpExchange exchange, int status) throws IOException {
+    exchange.sendResponseHeaders(status, -1);
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import javax.annotation.Nullable;
+
+/**
+ * Position of {@link HubspotReceiver} in the pages of Hubspot objects, as stored in the checkpoint file.
+ */
+class ReceiverPosition {
+  private final String pageOffset;
+  private final int iteratorPosition;
+
+  ReceiverPosition(@Nullable String pageOffset, int iteratorPosition) {
+    this.pageOffset = pageOffset;
+    this.iteratorPosition = iteratorPosition;
+  }
+
+  /**
+   * Returns the offset the current page was requested with.
+   * @return the offset of the current page, or null for the first page
+   */
+  @Nullable
+  String getPageOffset() {
+    return pageOffset;
+  }
+
+  int getIteratorPosition() {
+    return iteratorPosition;
+  }
+}
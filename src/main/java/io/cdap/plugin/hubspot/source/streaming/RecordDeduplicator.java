@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Remembers the most recently received records, so that records received again are not emitted twice.
+ *
+ * Records are identified by the id of the object and its last modification date, so a modified object is emitted
+ * again. Records without an id, or without a modification date, are identified by their content.
+ */
+class RecordDeduplicator {
+  private static final JsonParser JSON_PARSER = new JsonParser();
+  private static final String[] ID_NAMES = {"id", "vid", "companyId", "dealId", "objectId", "listId", "pipelineId"};
+  private static final String[] MODIFIED_DATE_NAMES = {"lastmodifieddate", "hs_lastmodifieddate"};
+
+  private final Map<String, Boolean> recentKeys;
+
+  RecordDeduplicator(int windowSize) {
+    // access ordered, so a record received again stays in the window
+    this.recentKeys = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+        return size() > windowSize;
+      }
+    };
+  }
+
+  /**
+   * Returns true if the record has been seen recently, and remembers it otherwise.
+   * @param record the record as JSON string
+   * @return true if the record is a duplicate
+   */
+  boolean isDuplicate(String record) {
+    return recentKeys.put(getKey(record), Boolean.TRUE) != null;
+  }
+
+  private static String getKey(String record) {
+    JsonElement json;
+    try {
+      json = JSON_PARSER.parse(record);
+    } catch (JsonParseException e) {
+      json = null;
+    }
+    if (json != null && json.isJsonObject()) {
+      JsonObject object = json.getAsJsonObject();
+      String id = getFirstPrimitive(object, ID_NAMES);
+      String modifiedDate = getModifiedDate(object);
+      if (id != null && modifiedDate != null) {
+        return id + "@" + modifiedDate;
+      }
+    }
+    return DigestUtils.sha256Hex(record);
+  }
+
+  @Nullable
+  private static String getModifiedDate(JsonObject object) {
+    String updatedAt = getFirstPrimitive(object, new String[] {"updatedAt"});
+    if (updatedAt != null) {
+      return updatedAt;
+    }
+    JsonElement properties = object.get("properties");
+    if (properties == null || !properties.isJsonObject()) {
+      return null;
+    }
+    for (String name : MODIFIED_DATE_NAMES) {
+      JsonElement property = properties.getAsJsonObject().get(name);
+      if (property == null) {
+        continue;
+      }
+      if (property.isJsonPrimitive()) {
+        return property.getAsString();
+      }
+      // properties of the legacy APIs are objects with a value
+      if (property.isJsonObject()) {
+        String value = getFirstPrimitive(property.getAsJsonObject(), new String[] {"value"});
+        if (value != null) {
+          return value;
+        }
+      }
+    }
+    return null;
+  }
+
+  @Nullable
+  private static String getFirstPrimitive(JsonObject object, String[] names) {
+    for (String name : names) {
+      JsonElement value = object.get(name);
+      if (value != null && value.isJsonPrimitive()) {
+        return value.getAsString();
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import java.util.Arrays;
+
+/**
+ * The way the streaming source pulls objects from Hubspot.
+ */
+public enum StreamingMode {
+  RECEIVER("Receiver"),
+  DIRECT("Direct"),
+  WEBHOOK("Webhook");
+
+  private final String name;
+
+  StreamingMode(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the StreamingMode.
+   * @param name the name is string type
+   * @return the StreamingMode
+   */
+  public static StreamingMode fromValue(String name) {
+    return Arrays.stream(StreamingMode.values())
+      .filter(streamingMode -> streamingMode.getName().equals(name))
+      .findAny()
+      .orElseThrow(() -> new IllegalArgumentException(String.format("Unexpected streaming mode value '%s'.", name)));
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.HttpHostConnectException;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
+public class BackoffRetryPolicyTest {
+  private static final long MAX_ELAPSED_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  @Test
+  public void testIdempotentCalls() {
+    BackoffRetryPolicy policy = new BackoffRetryPolicy(3, MAX_ELAPSED_MILLIS);
+    Assert.assertTrue(getRetryDelay(policy, 1, new SocketTimeoutException()) >= 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, new ConnectTimeoutException()) >= 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, new IOException("Connection reset")) >= 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, new UnknownHostException()) < 0);
+    Assert.assertTrue(getRetryDelay(policy, 3, new SocketTimeoutException()) < 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, 429) >= 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, 500) >= 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, 502) >= 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, 400) < 0);
+  }
+
+  @Test
+  public void testNonIdempotentCalls() {
+    BackoffRetryPolicy policy = new BackoffRetryPolicy(3, MAX_ELAPSED_MILLIS, false);
+    // the request may have reached the server
+    Assert.assertTrue(getRetryDelay(policy, 1, new SocketTimeoutException()) < 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, new IOException("Connection reset")) < 0);
+    // the connection could not be established, so the request was not sent
+    Assert.assertTrue(getRetryDelay(policy, 1, new ConnectTimeoutException()) >= 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, new HttpHostConnectException(new ConnectException(), null)) >= 0);
+    // the request was not processed
+    Assert.assertTrue(getRetryDelay(policy, 1, 429) >= 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, 503) >= 0);
+    // the object may have been created
+    Assert.assertTrue(getRetryDelay(policy, 1, 500) < 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, 502) < 0);
+    Assert.assertTrue(getRetryDelay(policy, 1, 504) < 0);
+  }
+
+  private static long getRetryDelay(BackoffRetryPolicy policy, int attempt, IOException error) {
+    return policy.getRetryDelay(attempt, 0, 0, null, error);
+  }
+
+  private static long getRetryDelay(BackoffRetryPolicy policy, int attempt, int statusCode) {
+    HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, null);
+    return policy.getRetryDelay(attempt, 0, 0, response, null);
+  }
+}
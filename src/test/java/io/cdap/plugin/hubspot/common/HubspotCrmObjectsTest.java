@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.util.EntityUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+public class HubspotCrmObjectsTest {
+  private static final JsonParser JSON_PARSER = new JsonParser();
+
+  @Test
+  public void testListRequest() {
+    SourceHubspotConfig config = getConfig();
+    Assert.assertEquals("http://localhost/crm/v3/objects/contacts?limit=100&hapikey=key",
+                        HubspotCrmObjects.getRequest(config, null).getURI().toString());
+
+    config.pageSize = 50;
+    config.selectedProperties = "firstname, lastname";
+    Assert.assertEquals("http://localhost/crm/v3/objects/contacts?limit=50&after=abc" +
+                          "&properties=firstname%2Clastname&hapikey=key",
+                        HubspotCrmObjects.getRequest(config, "abc").getURI().toString());
+  }
+
+  @Test
+  public void testPropertiesTooLongForQuery() {
+    SourceHubspotConfig config = getConfig();
+    List<String> properties = new ArrayList<>();
+    for (int i = 0; properties.size() * 10 <= HubspotCrmObjects.MAX_PROPERTIES_QUERY_LENGTH; i++) {
+      properties.add(String.format("property%02d", i % 100));
+    }
+    config.selectedProperties = String.join(",", properties);
+
+    Assert.assertTrue(HubspotCrmObjects.isPropertiesInBody(config));
+    Assert.assertEquals("http://localhost/crm/v3/objects/contacts?limit=100&hapikey=key",
+                        HubspotCrmObjects.getRequest(config, null).getURI().toString());
+  }
+
+  @Test
+  public void testPaging() throws IOException {
+    SourceHubspotConfig config = getConfig();
+    HubspotPage page = parse(config, "{\"results\":[{\"id\":\"1\"},{\"id\":\"2\"}]," +
+      "\"paging\":{\"next\":{\"after\":\"NTI1Cg%3D%3D\",\"link\":\"?after=NTI1Cg%3D%3D\"}}}");
+    Assert.assertEquals("NTI1Cg%3D%3D", page.getOffset());
+    Iterator<String> objects = page.getIterator();
+    Assert.assertEquals("{\"id\":\"1\"}", objects.next());
+    Assert.assertEquals("{\"id\":\"2\"}", objects.next());
+    Assert.assertFalse(objects.hasNext());
+
+    HubspotPage lastPage = parse(config, "{\"results\":[{\"id\":\"3\"}]}");
+    Assert.assertNull(lastPage.getOffset());
+    Assert.assertNull(lastPage.nextPage());
+  }
+
+  @Test(expected = IOException.class)
+  public void testMissingResults() throws IOException {
+    parse(getConfig(), "{\"status\":\"error\"}");
+  }
+
+  @Test
+  public void testSearchRequestProperties() throws IOException {
+    SourceHubspotConfig config = getConfig();
+    config.searchFilter = "firstname = Jane";
+    config.selectedProperties = "firstname,lastname";
+    HttpRequestBase request = HubspotSearch.getRequest(config, null);
+    Assert.assertEquals("http://localhost/crm/v3/objects/contacts/search?hapikey=key", request.getURI().toString());
+
+    JsonObject body = JSON_PARSER.parse(
+      EntityUtils.toString(((HttpEntityEnclosingRequestBase) request).getEntity())).getAsJsonObject();
+    Assert.assertEquals(JSON_PARSER.parse("[\"firstname\",\"lastname\"]"), body.get("properties"));
+    Assert.assertEquals(JSON_PARSER.parse("[{\"filters\":[{\"propertyName\":\"firstname\",\"operator\":\"EQ\"," +
+                                            "\"value\":\"Jane\"}]}]"), body.get("filterGroups"));
+  }
+
+  @Test
+  public void testPropertiesAreTrimmed() {
+    SourceHubspotConfig config = getConfig();
+    Assert.assertEquals(Collections.emptyList(), config.getSelectedProperties());
+    config.selectedProperties = " firstname ,, lastname,";
+    Assert.assertEquals(2, config.getSelectedProperties().size());
+    Assert.assertEquals("firstname", config.getSelectedProperties().get(0));
+    Assert.assertEquals("lastname", config.getSelectedProperties().get(1));
+  }
+
+  private static HubspotPage parse(SourceHubspotConfig config, String json) throws IOException {
+    try (JsonReader reader = new JsonReader(new StringReader(json))) {
+      return HubspotCrmObjects.parseJson(config, reader);
+    }
+  }
+
+  private static SourceHubspotConfig getConfig() {
+    SourceHubspotConfig config = new SourceHubspotConfig("test", "http://localhost", "Contacts", "key", null, null,
+                                                         null, null, null, null, null, null, null);
+    config.useCrmV3Api = true;
+    return config;
+  }
+}
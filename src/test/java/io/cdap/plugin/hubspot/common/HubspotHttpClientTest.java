@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HubspotHttpClientTest {
+
+  @Test
+  public void testClientIsSharedUntilLastRelease() {
+    SourceHubspotConfig config = getConfig();
+    HubspotHttpClient.acquire(config);
+    CloseableHttpClient client = HubspotHttpClient.get();
+    HubspotHttpClient.acquire(config);
+    Assert.assertSame(client, HubspotHttpClient.get());
+
+    HubspotHttpClient.release();
+    // one user is left
+    Assert.assertSame(client, HubspotHttpClient.get());
+    HubspotHttpClient.release();
+    assertNotAcquired();
+
+    HubspotHttpClient.acquire(config);
+    try {
+      Assert.assertNotSame(client, HubspotHttpClient.get());
+    } finally {
+      HubspotHttpClient.release();
+    }
+  }
+
+  @Test
+  public void testReleaseWithoutAcquire() {
+    HubspotHttpClient.release();
+    assertNotAcquired();
+    // an extra release does not make the next user's release close the client early
+    HubspotHttpClient.acquire(getConfig());
+    HubspotHttpClient.acquire(getConfig());
+    HubspotHttpClient.release();
+    try {
+      Assert.assertNotNull(HubspotHttpClient.get());
+    } finally {
+      HubspotHttpClient.release();
+    }
+    assertNotAcquired();
+  }
+
+  private static void assertNotAcquired() {
+    try {
+      HubspotHttpClient.get();
+      Assert.fail("The client must not be used without being acquired");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  private static SourceHubspotConfig getConfig() {
+    return new SourceHubspotConfig("test", "http://localhost", "Contacts", "key", null, null,
+                                   null, null, null, null, null, null, null);
+  }
+}
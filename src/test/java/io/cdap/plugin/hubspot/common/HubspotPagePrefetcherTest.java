@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+public class HubspotPagePrefetcherTest {
+
+  @Test
+  public void testPagesAreReturnedInOrder() throws IOException {
+    SourceHubspotConfig config = getConfig();
+    HubspotPage firstPage = new TestPage(config, 0, 5);
+    try (HubspotPagePrefetcher prefetcher = new HubspotPagePrefetcher(config, firstPage, 2, null)) {
+      for (int i = 1; i < 5; i++) {
+        Assert.assertEquals(String.valueOf(i), getIndex(prefetcher.nextPage()));
+      }
+      Assert.assertNull(prefetcher.nextPage());
+      Assert.assertNull(prefetcher.nextPage());
+    }
+  }
+
+  @Test
+  public void testFetchingStopsAtEndOffset() throws IOException {
+    SourceHubspotConfig config = getConfig();
+    HubspotPage firstPage = new TestPage(config, 0, 5);
+    try (HubspotPagePrefetcher prefetcher = new HubspotPagePrefetcher(config, firstPage, 2, 3L)) {
+      Assert.assertEquals("1", getIndex(prefetcher.nextPage()));
+      Assert.assertEquals("2", getIndex(prefetcher.nextPage()));
+      Assert.assertNull(prefetcher.nextPage());
+    }
+  }
+
+  @Test
+  public void testFailureIsReturnedAfterFetchedPages() throws IOException {
+    SourceHubspotConfig config = getConfig();
+    HubspotPage firstPage = new TestPage(config, 0, 2, true, null);
+    try (HubspotPagePrefetcher prefetcher = new HubspotPagePrefetcher(config, firstPage, 2, null)) {
+      Assert.assertEquals("1", getIndex(prefetcher.nextPage()));
+      try {
+        prefetcher.nextPage();
+        Assert.fail("The failure to fetch a page must be returned");
+      } catch (IOException e) {
+        Assert.assertEquals("page 2 is not available", e.getMessage());
+      }
+      Assert.assertNull(prefetcher.nextPage());
+    }
+  }
+
+  @Test
+  public void testCloseStopsFetchingAndReleasesClient() throws Exception {
+    SourceHubspotConfig config = getConfig();
+    CountDownLatch fetching = new CountDownLatch(1);
+    HubspotHttpClient.acquire(config);
+    HubspotPage firstPage = new TestPage(config, 0, 100, false, fetching);
+    HubspotPagePrefetcher prefetcher = new HubspotPagePrefetcher(config, firstPage, 1, null);
+    // the queue is full, so the fetching thread waits until it is closed
+    Assert.assertTrue(fetching.await(10, TimeUnit.SECONDS));
+    HubspotHttpClient.release();
+    // the fetching thread still holds the client
+    Assert.assertNotNull(HubspotHttpClient.get());
+    prefetcher.close();
+    try {
+      HubspotHttpClient.get();
+      Assert.fail("The client must be released once the fetching thread is stopped");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  private static String getIndex(HubspotPage page) {
+    return page.getIterator().next();
+  }
+
+  private static SourceHubspotConfig getConfig() {
+    return new SourceHubspotConfig("test", "http://localhost", "Contacts", "key", null, null,
+                                   null, null, null, null, null, null, null);
+  }
+
+  /**
+   * Page which serves the following pages from memory.
+   */
+  private static class TestPage extends HubspotPage {
+    private final SourceHubspotConfig config;
+    private final int index;
+    private final int count;
+    private final boolean failing;
+    @Nullable
+    private final CountDownLatch fetching;
+
+    TestPage(SourceHubspotConfig config, int index, int count) {
+      this(config, index, count, false, null);
+    }
+
+    /**
+     * @param failing whether reading the page after the last one fails
+     * @param fetching counted down when the page following the first fetched one is fetched
+     */
+    TestPage(SourceHubspotConfig config, int index, int count, boolean failing, @Nullable CountDownLatch fetching) {
+      super(Collections.singletonList(String.valueOf(index)), config, String.valueOf(index + 1), index + 1 < count);
+      this.config = config;
+      this.index = index;
+      this.count = count;
+      this.failing = failing;
+      this.fetching = fetching;
+    }
+
+    @Nullable
+    @Override
+    public HubspotPage nextPage(@Nullable Long endOffset) throws IOException {
+      if (endOffset != null && index + 1 >= endOffset) {
+        return null;
+      }
+      if (index + 1 == count) {
+        if (failing) {
+          throw new IOException(String.format("page %d is not available", count));
+        }
+        return null;
+      }
+      if (fetching != null && index == 1) {
+        fetching.countDown();
+      }
+      return new TestPage(config, index + 1, count, failing, fetching);
+    }
+  }
+}
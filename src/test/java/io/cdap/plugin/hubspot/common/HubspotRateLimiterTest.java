@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class HubspotRateLimiterTest {
+
+  @Test
+  public void testDailyLimitIsProbedAfterExhaustion() throws IOException {
+    HubspotRateLimiter rateLimiter = new HubspotRateLimiter();
+    rateLimiter.update(1000, null, null, null, 0L, false);
+    try {
+      rateLimiter.reserve(2000);
+      Assert.fail("Requests must be rejected once the daily limit is exhausted");
+    } catch (IOException e) {
+      // expected
+    }
+
+    long probeTime = 1000 + HubspotRateLimiter.DAILY_LIMIT_PROBE_INTERVAL_MILLIS;
+    Assert.assertEquals(0, rateLimiter.reserve(probeTime));
+    try {
+      rateLimiter.reserve(probeTime + 1);
+      Assert.fail("Only one probe request is let through");
+    } catch (IOException e) {
+      // expected
+    }
+
+    // the probe response tells the daily limit has been reset
+    rateLimiter.update(probeTime + 10, null, null, null, 250000L, false);
+    Assert.assertEquals(0, rateLimiter.reserve(probeTime + 20));
+  }
+
+  @Test
+  public void testRequestsAreSpreadOverInterval() throws IOException {
+    HubspotRateLimiter rateLimiter = new HubspotRateLimiter();
+    rateLimiter.update(0, 10L, 2L, 1000L, null, false);
+    Assert.assertEquals(0, rateLimiter.reserve(0));
+    Assert.assertEquals(500, rateLimiter.reserve(0));
+    // the calls of the interval are used up, so the next one waits for the next interval
+    Assert.assertEquals(1000, rateLimiter.reserve(0));
+  }
+
+  @Test
+  public void testInstancesAreSharedByCredentials() {
+    HubspotRateLimiter rateLimiter = HubspotRateLimiter.getInstance(getConfig("key-1", null));
+    Assert.assertSame(rateLimiter, HubspotRateLimiter.getInstance(getConfig("key-1", null)));
+    Assert.assertNotSame(rateLimiter, HubspotRateLimiter.getInstance(getConfig("key-2", null)));
+    // the access token takes precedence over the api key
+    Assert.assertNotSame(rateLimiter, HubspotRateLimiter.getInstance(getConfig("key-1", "token")));
+    Assert.assertSame(HubspotRateLimiter.getInstance(getConfig(null, "token")),
+                      HubspotRateLimiter.getInstance(getConfig("key-1", "token")));
+  }
+
+  private static SourceHubspotConfig getConfig(String apiKey, String accessToken) {
+    return new SourceHubspotConfig("test", "http://localhost", "Contacts", apiKey, accessToken, null,
+                                   null, null, null, null, null, null, null);
+  }
+}
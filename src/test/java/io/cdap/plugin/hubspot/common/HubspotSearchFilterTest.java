@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class HubspotSearchFilterTest {
+  private static final JsonParser JSON_PARSER = new JsonParser();
+
+  @Test
+  public void testOperators() {
+    assertFilter("[{\"filters\":[" +
+                   "{\"propertyName\":\"a\",\"operator\":\"EQ\",\"value\":\"1\"}," +
+                   "{\"propertyName\":\"b\",\"operator\":\"NEQ\",\"value\":\"2\"}," +
+                   "{\"propertyName\":\"c\",\"operator\":\"LT\",\"value\":\"3\"}," +
+                   "{\"propertyName\":\"d\",\"operator\":\"LTE\",\"value\":\"4\"}," +
+                   "{\"propertyName\":\"e\",\"operator\":\"GT\",\"value\":\"5\"}," +
+                   "{\"propertyName\":\"f\",\"operator\":\"GTE\",\"value\":\"6\"}]}]",
+                 "a = 1 AND b != 2 AND c < 3 AND d <= 4 AND e > 5 AND f >= 6");
+    assertFilter("[{\"filters\":[" +
+                   "{\"propertyName\":\"a\",\"operator\":\"IN\",\"values\":[\"1\",\"2\"]}," +
+                   "{\"propertyName\":\"b\",\"operator\":\"NOT_IN\",\"values\":[\"3\"]}," +
+                   "{\"propertyName\":\"c\",\"operator\":\"HAS_PROPERTY\"}," +
+                   "{\"propertyName\":\"d\",\"operator\":\"NOT_HAS_PROPERTY\"}]}]",
+                 "a in (1, 2) and b NOT IN (3) AND c HAS_PROPERTY AND d NOT_HAS_PROPERTY");
+  }
+
+  @Test
+  public void testAndBindsTighterThanOr() {
+    assertFilter("[{\"filters\":[{\"propertyName\":\"a\",\"operator\":\"EQ\",\"value\":\"1\"}]}," +
+                   "{\"filters\":[{\"propertyName\":\"b\",\"operator\":\"EQ\",\"value\":\"2\"}," +
+                   "{\"propertyName\":\"c\",\"operator\":\"EQ\",\"value\":\"3\"}]}]",
+                 "a = 1 OR b = 2 AND c = 3");
+  }
+
+  @Test
+  public void testQuotedValues() {
+    assertFilter("[{\"filters\":[{\"propertyName\":\"lastname\",\"operator\":\"EQ\",\"value\":\"O'Brien\"}," +
+                   "{\"propertyName\":\"city\",\"operator\":\"IN\",\"values\":[\"New York\",\"a, (b)\"]}]}]",
+                 "lastname = 'O''Brien' AND city IN ('New York', 'a, (b)')");
+    assertFilter("[{\"filters\":[{\"propertyName\":\"note\",\"operator\":\"NEQ\",\"value\":\"\"}]}]",
+                 "note != ''");
+  }
+
+  @Test
+  public void testGroupLimit() {
+    assertFilterGroups(5, 0, "a = 1 OR a = 2 OR a = 3 OR a = 4 OR a = 5");
+    assertInvalid("The filter has 6 OR groups, at most 5 are allowed.",
+                  "a = 1 OR a = 2 OR a = 3 OR a = 4 OR a = 5 OR a = 6", 0);
+  }
+
+  @Test
+  public void testFiltersPerGroupLimit() {
+    assertFilterGroups(1, 0, getGroup(6));
+    assertInvalid("A group of the filter has 7 conditions, at most 6 are allowed.", getGroup(7), 0);
+    assertFilterGroups(1, 2, getGroup(4));
+    assertInvalid("A group of the filter has 5 conditions, at most 4 are allowed.", getGroup(5), 2);
+  }
+
+  @Test
+  public void testTotalFiltersLimit() {
+    assertFilterGroups(3, 0, String.join(" OR ", Collections.nCopies(3, getGroup(6))));
+    assertInvalid("The filter has 19 conditions, at most 18 are allowed.",
+                  String.join(" OR ", Collections.nCopies(3, getGroup(6))) + " OR a = 1", 0);
+    // the reserved filters of every group count towards the total
+    assertInvalid("The filter has 10 conditions, at most 8 are allowed.",
+                  String.join(" OR ", Collections.nCopies(5, getGroup(2))), 2);
+  }
+
+  @Test
+  public void testMalformed() {
+    assertInvalid("The filter is empty.", "  ", 0);
+    assertInvalid("Unexpected 'b' in the filter.", "a = 1 b", 0);
+    assertInvalid("Expected a value at the end of the filter.", "a =", 0);
+    assertInvalid("Expected a property name at the end of the filter.", "a = 1 AND", 0);
+    assertInvalid("Expected an operator after 'a' in the filter.", "a 1", 0);
+    assertInvalid("Expected a value instead of ')' in the filter.", "a = )", 0);
+    assertInvalid("Expected '(' in the filter.", "a IN 1", 0);
+    assertInvalid("Expected ')' in the filter.", "a IN (1, 2", 0);
+    assertInvalid("Expected 'IN' in the filter.", "a NOT 1", 0);
+    assertInvalid("Unterminated quoted value in the filter.", "a = 'O''Brien", 0);
+  }
+
+  private static String getGroup(int conditions) {
+    List<String> group = new ArrayList<>();
+    for (int i = 0; i < conditions; i++) {
+      group.add("p" + i + " = " + i);
+    }
+    return String.join(" AND ", group);
+  }
+
+  private static void assertFilter(String expected, String expression) {
+    Assert.assertEquals(JSON_PARSER.parse(expected), HubspotSearchFilter.parse(expression, 0));
+  }
+
+  private static void assertFilterGroups(int expectedGroups, int reservedFiltersPerGroup, String expression) {
+    JsonArray filterGroups = HubspotSearchFilter.parse(expression, reservedFiltersPerGroup);
+    Assert.assertEquals(expectedGroups, filterGroups.size());
+  }
+
+  private static void assertInvalid(String expectedMessage, String expression, int reservedFiltersPerGroup) {
+    try {
+      HubspotSearchFilter.parse(expression, reservedFiltersPerGroup);
+      Assert.fail(String.format("Filter '%s' is expected to be invalid.", expression));
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals(expectedMessage, e.getMessage());
+    }
+  }
+}
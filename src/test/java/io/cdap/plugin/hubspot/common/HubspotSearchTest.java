@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nullable;
+
+public class HubspotSearchTest {
+  private static final JsonParser JSON_PARSER = new JsonParser();
+
+  @Test
+  public void testObjectsAtResultLimitBoundaryAreReadOnce() throws IOException {
+    SourceHubspotConfig config = getConfig();
+    // the first query reaches the results limit with deals 2 and 3, modified at the same moment
+    HubspotPage page = parse(config, null,
+                             "{\"results\":[" + getDeal(1, "2026-01-01T00:00:00Z") + "," +
+                               getDeal(2, "2026-01-02T00:00:00Z") + "]," +
+                               "\"paging\":{\"next\":{\"after\":\"5000\"}}}");
+    Assert.assertEquals(Arrays.asList("1", "2"), getIds(page));
+    Assert.assertEquals("1000:5000:1767312000000:2", page.getOffset());
+
+    page = parse(config, page.getOffset(),
+                 "{\"results\":[" + getDeal(3, "2026-01-02T00:00:00Z") + "]," +
+                   "\"paging\":{\"next\":{\"after\":\"10000\"}}}");
+    Assert.assertEquals(Arrays.asList("3"), getIds(page));
+    Assert.assertEquals("1767312000000::1767312000000:2,3", page.getOffset());
+
+    // the new query returns deals 2 and 3 again
+    page = parse(config, page.getOffset(),
+                 "{\"results\":[" + getDeal(2, "2026-01-02T00:00:00Z") + "," +
+                   getDeal(3, "2026-01-02T00:00:00Z") + "]," +
+                   "\"paging\":{\"next\":{\"after\":\"2\"}}}");
+    Assert.assertTrue(getIds(page).isEmpty());
+    Assert.assertEquals("1767312000000:2:1767312000000:2,3", page.getOffset());
+
+    page = parse(config, page.getOffset(),
+                 "{\"results\":[" + getDeal(4, "2026-01-02T00:00:00Z") + "," +
+                   getDeal(2, "2026-01-03T00:00:00Z") + "]}");
+    Assert.assertEquals(Arrays.asList("4", "2"), getIds(page));
+    Assert.assertNull(page.getOffset());
+  }
+
+  @Test(expected = IOException.class)
+  public void testTooManyObjectsModifiedAtOnce() throws IOException {
+    parse(getConfig(), "1767312000000::1767312000000:2",
+          "{\"results\":[" + getDeal(3, "2026-01-02T00:00:00Z") + "]," +
+            "\"paging\":{\"next\":{\"after\":\"10000\"}}}");
+  }
+
+  private static HubspotPage parse(SourceHubspotConfig config, @Nullable String offset,
+                                   String json) throws IOException {
+    try (JsonReader reader = new JsonReader(new StringReader(json))) {
+      return HubspotSearch.parseJson(config, offset, reader);
+    }
+  }
+
+  private static List<String> getIds(HubspotPage page) {
+    List<String> ids = new ArrayList<>();
+    for (Iterator<String> objects = page.getIterator(); objects.hasNext(); ) {
+      ids.add(JSON_PARSER.parse(objects.next()).getAsJsonObject().get("id").getAsString());
+    }
+    return ids;
+  }
+
+  private static String getDeal(int id, String updatedAt) {
+    return String.format("{\"id\":\"%d\",\"properties\":{},\"updatedAt\":\"%s\"}", id, updatedAt);
+  }
+
+  private static SourceHubspotConfig getConfig() {
+    SourceHubspotConfig config = new SourceHubspotConfig("test", "http://localhost", "Deals", "key", null, null,
+                                                         null, null, null, null, null, null, null);
+    config.watermarkPath = "/tmp/watermark";
+    config.setModifiedSince("1000");
+    return config;
+  }
+}
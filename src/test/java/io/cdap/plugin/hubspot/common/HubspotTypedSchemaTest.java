@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.common;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+public class HubspotTypedSchemaTest {
+  private static final Schema PROPERTIES_SCHEMA = Schema.recordOf(
+    "properties",
+    Schema.Field.of("firstname", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+    Schema.Field.of("amount", Schema.nullableOf(Schema.of(Schema.Type.DOUBLE))),
+    Schema.Field.of("closed", Schema.nullableOf(Schema.of(Schema.Type.BOOLEAN))),
+    Schema.Field.of("closedate", Schema.nullableOf(Schema.of(Schema.LogicalType.DATE))),
+    Schema.Field.of("lastcontacted", Schema.nullableOf(Schema.of(Schema.LogicalType.TIMESTAMP_MICROS))));
+  private static final Schema SCHEMA = Schema.recordOf(
+    "etlSchemaBody",
+    Schema.Field.of("objectType", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+    Schema.Field.of("id", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+    Schema.Field.of("createdAt", Schema.nullableOf(Schema.of(Schema.LogicalType.TIMESTAMP_MICROS))),
+    Schema.Field.of("updatedAt", Schema.nullableOf(Schema.of(Schema.LogicalType.TIMESTAMP_MICROS))),
+    Schema.Field.of("archived", Schema.nullableOf(Schema.of(Schema.Type.BOOLEAN))),
+    Schema.Field.of("properties", Schema.nullableOf(PROPERTIES_SCHEMA)));
+
+  @Test
+  public void testPropertyNames() {
+    Assert.assertEquals(Arrays.asList("firstname", "amount", "closed", "closedate", "lastcontacted"),
+                        HubspotTypedSchema.getPropertyNames(SCHEMA));
+  }
+
+  @Test
+  public void testTransform() {
+    StructuredRecord record = HubspotTypedSchema.transform(
+      "{\"id\":\"51\",\"properties\":{\"firstname\":\"Jane\",\"amount\":\"1500.5\",\"closed\":\"true\"," +
+        "\"closedate\":\"2026-01-02\",\"lastcontacted\":\"2026-01-02T10:15:30.123Z\",\"unknown\":\"x\"}," +
+        "\"createdAt\":\"2026-01-01T00:00:00Z\",\"updatedAt\":\"1767312000000\",\"archived\":false," +
+        "\"associations\":{\"companies\":{\"results\":[]}}}",
+      "Deals", SCHEMA);
+
+    Assert.assertEquals("Deals", record.get("objectType"));
+    Assert.assertEquals("51", record.get("id"));
+    Assert.assertEquals(Instant.parse("2026-01-01T00:00:00Z"), record.getTimestamp("createdAt").toInstant());
+    // modification dates may be sent as milliseconds since the epoch
+    Assert.assertEquals(Instant.parse("2026-01-02T00:00:00Z"), record.getTimestamp("updatedAt").toInstant());
+    Assert.assertEquals(false, record.get("archived"));
+
+    StructuredRecord properties = record.get("properties");
+    Assert.assertEquals("Jane", properties.get("firstname"));
+    Assert.assertEquals(1500.5, properties.<Double>get("amount"), 0);
+    Assert.assertEquals(true, properties.get("closed"));
+    Assert.assertEquals(LocalDate.of(2026, 1, 2), properties.getDate("closedate"));
+    Assert.assertEquals(Instant.parse("2026-01-02T10:15:30.123Z"),
+                        properties.getTimestamp("lastcontacted").toInstant());
+  }
+
+  @Test
+  public void testEmptyValues() {
+    StructuredRecord record = HubspotTypedSchema.transform(
+      "{\"id\":\"51\",\"properties\":{\"firstname\":\"\",\"amount\":null,\"closedate\":\"1767312000000\"}}",
+      "Deals", SCHEMA);
+
+    StructuredRecord properties = record.get("properties");
+    Assert.assertNull(properties.get("firstname"));
+    Assert.assertNull(properties.get("amount"));
+    Assert.assertNull(properties.get("closed"));
+    // date properties may be sent as milliseconds since the epoch
+    Assert.assertEquals(LocalDate.of(2026, 1, 2), properties.getDate("closedate"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidValue() {
+    HubspotTypedSchema.transform("{\"id\":\"51\",\"properties\":{\"amount\":\"a lot\"}}", "Deals", SCHEMA);
+  }
+}
@@ -49,15 +49,19 @@ public class TestingHelper {
       Thread.sleep(20000);
     }
     boolean exist = false;
-    HubspotPagesIterator hubspotPagesIterator = new HubspotPagesIterator(config);
-    while (hubspotPagesIterator.hasNext()) {
-      JsonElement record = hubspotPagesIterator.next();
-      String id = getId(config, record);
-      if (record.toString().contains("testName") || getDetails(config, id).contains("testName")) {
-        exist = true;
-        deleteObject(config, id);
-      }
+    HubspotHttpClient.acquire(config);
+    try (HubspotPagesIterator hubspotPagesIterator = new HubspotPagesIterator(config)) {
+      while (hubspotPagesIterator.hasNext()) {
+        String record = hubspotPagesIterator.next();
+        String id = getId(config, new JsonParser().parse(record));
+        if (record.contains("testName") || getDetails(config, id).contains("testName")) {
+          exist = true;
+          deleteObject(config, id);
+        }
 
+      }
+    } finally {
+      HubspotHttpClient.release();
     }
     if (assertion) {
       Assert.assertEquals(true, exist);
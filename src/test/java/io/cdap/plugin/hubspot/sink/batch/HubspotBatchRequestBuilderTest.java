@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.sink.batch;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import io.cdap.plugin.hubspot.common.ObjectType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class HubspotBatchRequestBuilderTest {
+  private static final JsonParser JSON_PARSER = new JsonParser();
+  private static final String API_SERVER_URL = "https://api.hubapi.com";
+
+  @Test
+  public void testEndpoints() {
+    Assert.assertEquals("https://api.hubapi.com/crm/v3/objects/contacts/batch/create",
+                        new HubspotBatchRequestBuilder(ObjectType.CONTACTS, API_SERVER_URL).getEndpoint());
+    Assert.assertEquals("https://api.hubapi.com/crm/v3/objects/companies/batch/create",
+                        new HubspotBatchRequestBuilder(ObjectType.COMPANIES, API_SERVER_URL).getEndpoint());
+    Assert.assertEquals("https://api.hubapi.com/crm/v3/objects/deals/batch/create",
+                        new HubspotBatchRequestBuilder(ObjectType.DEALS, API_SERVER_URL).getEndpoint());
+    Assert.assertEquals("https://api.hubapi.com/crm-objects/v1/objects/products/batch-create",
+                        new HubspotBatchRequestBuilder(ObjectType.PRODUCTS, API_SERVER_URL).getEndpoint());
+    Assert.assertEquals("https://api.hubapi.com/crm-objects/v1/objects/tickets/batch-create",
+                        new HubspotBatchRequestBuilder(ObjectType.TICKETS, API_SERVER_URL).getEndpoint());
+    HubspotBatchRequestBuilder contactLists = new HubspotBatchRequestBuilder(ObjectType.CONTACT_LISTS,
+                                                                             API_SERVER_URL);
+    Assert.assertFalse(contactLists.isSupported());
+    Assert.assertNull(contactLists.toBatchElement("{\"name\":\"list\"}"));
+  }
+
+  @Test
+  public void testContacts() {
+    HubspotBatchRequestBuilder builder = new HubspotBatchRequestBuilder(ObjectType.CONTACTS, API_SERVER_URL);
+    JsonElement element = builder.toBatchElement(
+      "{\"properties\":[{\"property\":\"email\",\"value\":\"jane@example.com\"}," +
+        "{\"property\":\"firstname\",\"value\":\"Jane\"}]}");
+    Assert.assertEquals(JSON_PARSER.parse("{\"properties\":{\"email\":\"jane@example.com\",\"firstname\":\"Jane\"}}"),
+                        element);
+    Assert.assertEquals("{\"inputs\":[{\"properties\":{\"email\":\"jane@example.com\",\"firstname\":\"Jane\"}}]}",
+                        builder.buildBody(Arrays.asList(element)));
+    // other fields can only be sent to the single object endpoint
+    Assert.assertNull(builder.toBatchElement("{\"vid\":1,\"properties\":[{\"property\":\"firstname\"," +
+                                               "\"value\":\"Jane\"}]}"));
+    Assert.assertNull(builder.toBatchElement("{\"properties\":[{\"name\":\"firstname\",\"value\":\"Jane\"}]}"));
+  }
+
+  @Test
+  public void testCompaniesAndDeals() {
+    HubspotBatchRequestBuilder builder = new HubspotBatchRequestBuilder(ObjectType.COMPANIES, API_SERVER_URL);
+    JsonElement element = builder.toBatchElement("{\"properties\":[{\"name\":\"name\",\"value\":\"Acme\"}," +
+                                                   "{\"name\":\"employees\",\"value\":10}]}");
+    Assert.assertEquals(JSON_PARSER.parse("{\"properties\":{\"name\":\"Acme\",\"employees\":\"10\"}}"), element);
+    // already in the CRM v3 format
+    JsonElement v3Element = builder.toBatchElement("{\"properties\":{\"name\":\"Other\"}}");
+    Assert.assertEquals(JSON_PARSER.parse("{\"properties\":{\"name\":\"Other\"}}"), v3Element);
+    Assert.assertEquals(JSON_PARSER.parse("{\"inputs\":[{\"properties\":{\"name\":\"Acme\",\"employees\":\"10\"}}," +
+                                            "{\"properties\":{\"name\":\"Other\"}}]}"),
+                        JSON_PARSER.parse(builder.buildBody(Arrays.asList(element, v3Element))));
+
+    HubspotBatchRequestBuilder deals = new HubspotBatchRequestBuilder(ObjectType.DEALS, API_SERVER_URL);
+    Assert.assertNull(deals.toBatchElement("{\"associations\":{\"associatedVids\":[1]}," +
+                                             "\"properties\":[{\"name\":\"dealname\",\"value\":\"Deal\"}]}"));
+    Assert.assertNull(deals.toBatchElement("{\"properties\":[{\"name\":\"dealname\",\"value\":{\"a\":1}}]}"));
+    Assert.assertNull(deals.toBatchElement("{\"properties\":\"dealname\"}"));
+  }
+
+  @Test
+  public void testProductsAndTickets() {
+    HubspotBatchRequestBuilder builder = new HubspotBatchRequestBuilder(ObjectType.PRODUCTS, API_SERVER_URL);
+    JsonElement element = builder.toBatchElement("[{\"name\":\"name\",\"value\":\"Product\"}]");
+    Assert.assertEquals(JSON_PARSER.parse("[{\"name\":\"name\",\"value\":\"Product\"}]"), element);
+    Assert.assertEquals("[[{\"name\":\"name\",\"value\":\"Product\"}]]", builder.buildBody(Arrays.asList(element)));
+    Assert.assertNull(builder.toBatchElement("{\"name\":\"name\"}"));
+  }
+
+  @Test
+  public void testMalformedRecord() {
+    HubspotBatchRequestBuilder builder = new HubspotBatchRequestBuilder(ObjectType.TICKETS, API_SERVER_URL);
+    Assert.assertNull(builder.toBatchElement("[{\"name\""));
+  }
+}
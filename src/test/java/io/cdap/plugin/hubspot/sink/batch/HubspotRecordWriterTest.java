@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.sink.batch;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HubspotRecordWriterTest {
+  private static final String DEAL = "{\"properties\":[{\"name\":\"dealname\",\"value\":\"test\"}]}";
+
+  private HttpServer server;
+  private final AtomicInteger received = new AtomicInteger();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+  private final CountDownLatch respond = new CountDownLatch(1);
+  private volatile int responseStatus = 200;
+
+  @Before
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/", exchange -> {
+      received.incrementAndGet();
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        respond.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      inFlight.decrementAndGet();
+      exchange.getRequestBody().close();
+      exchange.sendResponseHeaders(responseStatus, -1);
+      exchange.close();
+    });
+    server.start();
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  public void testWritesBlockOnlyWhenAllRequestsAreInFlight() throws Exception {
+    HubspotRecordWriter writer = new HubspotRecordWriter(getContext(2));
+    writer.write(NullWritable.get(), DEAL);
+    writer.write(NullWritable.get(), DEAL);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> thirdWrite = executor.submit(() -> writer.write(NullWritable.get(), DEAL));
+      try {
+        thirdWrite.get(500, TimeUnit.MILLISECONDS);
+        Assert.fail("The write must wait for one of the requests in flight");
+      } catch (TimeoutException e) {
+        // expected
+      }
+      respond.countDown();
+      thirdWrite.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+    writer.close(null);
+
+    Assert.assertEquals(3, received.get());
+    Assert.assertEquals(2, maxInFlight.get());
+    Assert.assertEquals(0, inFlight.get());
+  }
+
+  @Test
+  public void testFailedRequestFailsClose() throws Exception {
+    responseStatus = 400;
+    respond.countDown();
+    HubspotRecordWriter writer = new HubspotRecordWriter(getContext(2));
+    writer.write(NullWritable.get(), DEAL);
+    try {
+      writer.close(null);
+      Assert.fail("The failure of a request sent in the background must fail the close");
+    } catch (IOException e) {
+      Assert.assertTrue(e.getCause().getMessage().contains("not accessible"));
+    }
+    Assert.assertEquals(1, received.get());
+  }
+
+  private TaskAttemptContext getContext(int maxConcurrentRequests) {
+    SinkHubspotConfig config = new SinkHubspotConfig("test");
+    config.apiServerUrl = String.format("http://localhost:%d", server.getAddress().getPort());
+    config.objectType = "Deals";
+    config.apiKey = "key";
+    config.maxConcurrentRequests = maxConcurrentRequests;
+    Configuration configuration = new Configuration();
+    configuration.set(HubspotOutputFormatProvider.PROPERTY_CONFIG_JSON,
+                      HubspotOutputFormatProvider.GSON.toJson(config));
+    return new TaskAttemptContextImpl(configuration, new TaskAttemptID());
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.batch;
+
+import com.sun.net.httpserver.HttpServer;
+import io.cdap.plugin.hubspot.common.SourceHubspotConfig;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+public class HubspotRecordReaderTest {
+  private static final int TOTAL = 4;
+  private static final int PAGE_SIZE = 2;
+
+  private HttpServer server;
+
+  @Before
+  public void setUp() throws IOException {
+    // serves marketing emails, whose pages report the total number of emails
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/marketing-emails/v1/emails", exchange -> {
+      String query = exchange.getRequestURI().getQuery();
+      int offset = query.contains("offset=") ? Integer.parseInt(query.replaceAll(".*offset=(\\d+).*", "$1")) : 0;
+      StringBuilder objects = new StringBuilder();
+      for (int i = offset; i < Math.min(offset + PAGE_SIZE, TOTAL); i++) {
+        objects.append(objects.length() == 0 ? "" : ",").append(String.format("{\"id\":%d}", i));
+      }
+      byte[] body = String.format("{\"objects\":[%s],\"offset\":%d,\"total\":%d}",
+                                  objects, Math.min(offset + PAGE_SIZE, TOTAL), TOTAL)
+        .getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.start();
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  public void testProgressAndCounters() throws Exception {
+    TaskAttemptContext context = getContext();
+    try (HubspotRecordReader reader = new HubspotRecordReader()) {
+      reader.initialize(new HubspotSplit(), context);
+      Assert.assertEquals(0f, reader.getProgress(), 0f);
+      for (int i = 1; i <= TOTAL; i++) {
+        Assert.assertTrue(reader.nextKeyValue());
+        Assert.assertEquals(String.format("{\"id\":%d}", i - 1), reader.getCurrentValue());
+        Assert.assertEquals((float) i / TOTAL, reader.getProgress(), 0.001f);
+      }
+      Assert.assertFalse(reader.nextKeyValue());
+      Assert.assertEquals(1f, reader.getProgress(), 0f);
+    }
+    Assert.assertEquals(TOTAL, getCounter(context, HubspotRecordReader.RECORDS_READ_COUNTER));
+    Assert.assertEquals(TOTAL / PAGE_SIZE, getCounter(context, HubspotRecordReader.PAGES_READ_COUNTER));
+  }
+
+  @Test
+  public void testProgressOfOffsetSplit() throws Exception {
+    try (HubspotRecordReader reader = new HubspotRecordReader()) {
+      reader.initialize(new HubspotSplit(null, null, "2", null), getContext());
+      Assert.assertTrue(reader.nextKeyValue());
+      Assert.assertEquals("{\"id\":2}", reader.getCurrentValue());
+      // the split covers the last two of the four emails
+      Assert.assertEquals(0.5f, reader.getProgress(), 0.001f);
+      Assert.assertTrue(reader.nextKeyValue());
+      Assert.assertEquals(1f, reader.getProgress(), 0.001f);
+      Assert.assertFalse(reader.nextKeyValue());
+    }
+  }
+
+  private TaskAttemptContext getContext() {
+    SourceHubspotConfig config = new SourceHubspotConfig("test",
+                                                         String.format("http://localhost:%d",
+                                                                       server.getAddress().getPort()),
+                                                         "Marketing Email", "key", null, null,
+                                                         null, null, null, null, null, null, null);
+    config.pageSize = PAGE_SIZE;
+    Configuration configuration = new Configuration();
+    configuration.set(HubspotInputFormatProvider.PROPERTY_CONFIG_JSON, HubspotRecordReader.GSON.toJson(config));
+    return new TaskAttemptContextImpl(configuration, new TaskAttemptID());
+  }
+
+  private static long getCounter(TaskAttemptContext context, String name) {
+    return context.getCounter(HubspotRecordReader.COUNTER_GROUP, name).getValue();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.batch;
+
+import io.cdap.plugin.hubspot.common.SourceHubspotConfig;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+public class HubspotSplitPlannerTest {
+
+  @Test
+  public void testModificationTimeSplitsStartAtWatermark() throws IOException {
+    SourceHubspotConfig config = getConfig("Contacts");
+    config.watermarkPath = "/tmp/watermark";
+    config.maxSplits = 3;
+    config.setModifiedSince("1000");
+    config.setModifiedBefore("4000");
+
+    List<InputSplit> splits = new HubspotSplitPlanner(config).getSplits();
+    Assert.assertEquals(3, splits.size());
+    assertModificationTimeSplit(splits.get(0), null, "2000");
+    assertModificationTimeSplit(splits.get(1), "2000", "3000");
+    assertModificationTimeSplit(splits.get(2), "3000", null);
+  }
+
+  @Test
+  public void testModificationTimeSplitsOfShortRange() throws IOException {
+    SourceHubspotConfig config = getConfig("Deals");
+    config.watermarkPath = "/tmp/watermark";
+    config.maxSplits = 5;
+    config.setModifiedSince("1000");
+    config.setModifiedBefore("1002");
+
+    List<InputSplit> splits = new HubspotSplitPlanner(config).getSplits();
+    Assert.assertEquals(2, splits.size());
+    assertModificationTimeSplit(splits.get(0), null, "1001");
+    assertModificationTimeSplit(splits.get(1), "1001", null);
+  }
+
+  @Test
+  public void testDateSplits() throws IOException {
+    SourceHubspotConfig config = getConfig("Analytics");
+    config.timePeriod = "daily";
+    config.startDate = "20200101";
+    config.endDate = "20200110";
+    config.maxSplits = 3;
+
+    List<InputSplit> splits = new HubspotSplitPlanner(config).getSplits();
+    Assert.assertEquals(3, splits.size());
+    assertDateSplit(splits.get(0), "20200101", "20200104");
+    assertDateSplit(splits.get(1), "20200105", "20200107");
+    assertDateSplit(splits.get(2), "20200108", "20200110");
+  }
+
+  @Test
+  public void testSingleSplit() throws IOException {
+    SourceHubspotConfig config = getConfig("Contacts");
+    config.watermarkPath = "/tmp/watermark";
+    config.setModifiedSince("1000");
+    config.setModifiedBefore("4000");
+
+    List<InputSplit> splits = new HubspotSplitPlanner(config).getSplits();
+    Assert.assertEquals(1, splits.size());
+    assertModificationTimeSplit(splits.get(0), null, null);
+  }
+
+  private static void assertModificationTimeSplit(InputSplit inputSplit, String modifiedSince,
+                                                  String modifiedBefore) {
+    HubspotSplit split = (HubspotSplit) inputSplit;
+    Assert.assertEquals(modifiedSince, split.getModifiedSince());
+    Assert.assertEquals(modifiedBefore, split.getModifiedBefore());
+    Assert.assertNull(split.getStartOffset());
+    Assert.assertNull(split.getEndOffset());
+  }
+
+  private static void assertDateSplit(InputSplit inputSplit, String startDate, String endDate) {
+    HubspotSplit split = (HubspotSplit) inputSplit;
+    Assert.assertEquals(startDate, split.getStartDate());
+    Assert.assertEquals(endDate, split.getEndDate());
+    Assert.assertNull(split.getModifiedSince());
+  }
+
+  private static SourceHubspotConfig getConfig(String objectType) {
+    return new SourceHubspotConfig("test", "http://localhost", objectType, "key", null, null,
+                                   null, null, null, null, null, null, null);
+  }
+}
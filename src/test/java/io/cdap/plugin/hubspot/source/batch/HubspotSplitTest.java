@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.batch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class HubspotSplitTest {
+
+  @Test
+  public void testDateAndOffsetSplit() throws IOException {
+    HubspotSplit split = roundTrip(new HubspotSplit("20200101", "20200110", "100", 200L));
+    Assert.assertEquals("20200101", split.getStartDate());
+    Assert.assertEquals("20200110", split.getEndDate());
+    Assert.assertEquals("100", split.getStartOffset());
+    Assert.assertEquals(Long.valueOf(200), split.getEndOffset());
+    Assert.assertNull(split.getModifiedSince());
+    Assert.assertNull(split.getModifiedBefore());
+  }
+
+  @Test
+  public void testModificationTimeSplit() throws IOException {
+    HubspotSplit split = roundTrip(new HubspotSplit("1000", "2000"));
+    Assert.assertEquals("1000", split.getModifiedSince());
+    Assert.assertEquals("2000", split.getModifiedBefore());
+    Assert.assertNull(split.getStartDate());
+    Assert.assertNull(split.getEndOffset());
+  }
+
+  @Test
+  public void testSplitWithoutBounds() throws IOException {
+    HubspotSplit split = roundTrip(new HubspotSplit());
+    Assert.assertNull(split.getStartDate());
+    Assert.assertNull(split.getEndDate());
+    Assert.assertNull(split.getStartOffset());
+    Assert.assertNull(split.getEndOffset());
+    Assert.assertNull(split.getModifiedSince());
+    Assert.assertNull(split.getModifiedBefore());
+  }
+
+  private static HubspotSplit roundTrip(HubspotSplit split) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(bytes)) {
+      split.write(output);
+    }
+    HubspotSplit copy = new HubspotSplit();
+    copy.readFields(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    return copy;
+  }
+}
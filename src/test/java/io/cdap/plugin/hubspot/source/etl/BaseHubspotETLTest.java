@@ -112,6 +112,21 @@ public abstract class BaseHubspotETLTest extends BaseETLTest {
     if (sourceHubspotConfig.timePeriod != null) {
       builder.put(SourceHubspotConfig.TIME_PERIOD, sourceHubspotConfig.timePeriod);
     }
+    if (sourceHubspotConfig.useCrmV3Api != null) {
+      builder.put(SourceHubspotConfig.USE_CRM_V3_API, String.valueOf(sourceHubspotConfig.useCrmV3Api));
+    }
+    if (sourceHubspotConfig.pageSize != null) {
+      builder.put(SourceHubspotConfig.PAGE_SIZE, String.valueOf(sourceHubspotConfig.pageSize));
+    }
+    if (sourceHubspotConfig.selectedProperties != null) {
+      builder.put(SourceHubspotConfig.SELECTED_PROPERTIES, sourceHubspotConfig.selectedProperties);
+    }
+    if (sourceHubspotConfig.searchFilter != null) {
+      builder.put(SourceHubspotConfig.SEARCH_FILTER, sourceHubspotConfig.searchFilter);
+    }
+    if (sourceHubspotConfig.typedSchema != null) {
+      builder.put(SourceHubspotConfig.TYPED_SCHEMA, String.valueOf(sourceHubspotConfig.typedSchema));
+    }
     return builder.build();
   }
 
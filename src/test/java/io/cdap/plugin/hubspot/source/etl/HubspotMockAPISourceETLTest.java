@@ -18,6 +18,7 @@ package io.cdap.plugin.hubspot.source.etl;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonParser;
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.dataset.table.Table;
 import io.cdap.cdap.datapipeline.SmartWorkflow;
@@ -44,6 +45,9 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -588,6 +592,101 @@ public abstract class HubspotMockAPISourceETLTest extends BaseHubspotETLTest {
     }
   }
 
+  @Test
+  public void testCrmV3ObjectsPaging() throws Exception {
+    SourceHubspotConfig properties = new SourceHubspotConfig(testName.getMethodName(),
+                                                             getServerAddress(),
+                                                             "Contacts",
+                                                             "some-api-key",
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null);
+    properties.useCrmV3Api = true;
+    properties.pageSize = 2;
+    properties.selectedProperties = "firstname,lastname";
+    wireMockRule.stubFor(WireMock.get(
+      WireMock.urlEqualTo("/crm/v3/objects/contacts?limit=2&properties=firstname%2Clastname&hapikey=some-api-key"))
+                           .willReturn(WireMock.aResponse().withBody(
+                             "{\"results\":[{\"id\":\"1\"},{\"id\":\"2\"}]," +
+                               "\"paging\":{\"next\":{\"after\":\"2\",\"link\":\"?after=2\"}}}")));
+    wireMockRule.stubFor(WireMock.get(
+      WireMock.urlEqualTo("/crm/v3/objects/contacts?limit=2&after=2&properties=firstname%2Clastname" +
+                            "&hapikey=some-api-key"))
+                           .willReturn(WireMock.aResponse().withBody(
+                             "{\"results\":[{\"id\":\"3\"},{\"id\":\"4\"}]," +
+                               "\"paging\":{\"next\":{\"after\":\"4\",\"link\":\"?after=4\"}}}")));
+    // the last page has no paging element
+    wireMockRule.stubFor(WireMock.get(
+      WireMock.urlEqualTo("/crm/v3/objects/contacts?limit=2&after=4&properties=firstname%2Clastname" +
+                            "&hapikey=some-api-key"))
+                           .willReturn(WireMock.aResponse().withBody("{\"results\":[{\"id\":\"5\"}]}")));
+    List<StructuredRecord> records = getPipelineResults(properties, 5);
+    Assert.assertEquals(5, records.size());
+    List<String> objects = new ArrayList<>();
+    for (StructuredRecord record : records) {
+      Assert.assertEquals("Contacts", record.get("objectType"));
+      objects.add(record.get("object"));
+    }
+    Collections.sort(objects);
+    Assert.assertEquals(Arrays.asList("{\"id\":\"1\"}", "{\"id\":\"2\"}", "{\"id\":\"3\"}",
+                                      "{\"id\":\"4\"}", "{\"id\":\"5\"}"), objects);
+  }
+
+  @Test
+  public void testSearchContinuesAfterResultLimit() throws Exception {
+    SourceHubspotConfig properties = new SourceHubspotConfig(testName.getMethodName(),
+                                                             getServerAddress(),
+                                                             "Deals",
+                                                             "some-api-key",
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null,
+                                                             null);
+    properties.searchFilter = "dealstage = closedwon";
+    // the first query reaches the 10,000 results limit after deal 2, deal 3 was modified at the same moment
+    wireMockRule.stubFor(WireMock.post(WireMock.urlPathEqualTo("/crm/v3/objects/deals/search"))
+                           .withRequestBody(WireMock.notMatching(".*\"GTE\".*"))
+                           .willReturn(WireMock.aResponse().withBody(
+                             "{\"total\":10002,\"results\":[" + getDeal(1, "2026-01-01T00:00:00Z") + "," +
+                               getDeal(2, "2026-01-02T00:00:00Z") + "]," +
+                               "\"paging\":{\"next\":{\"after\":\"10000\"}}}")));
+    // the new query starts from the modification date of deal 2, so it returns deal 2 again, which is skipped
+    wireMockRule.stubFor(WireMock.post(WireMock.urlPathEqualTo("/crm/v3/objects/deals/search"))
+                           .withRequestBody(WireMock.containing(
+                             "{\"propertyName\":\"hs_lastmodifieddate\",\"operator\":\"GTE\"," +
+                               "\"value\":\"1767312000000\"}"))
+                           .withRequestBody(WireMock.containing(
+                             "{\"propertyName\":\"dealstage\",\"operator\":\"EQ\",\"value\":\"closedwon\"}"))
+                           .willReturn(WireMock.aResponse().withBody(
+                             "{\"total\":2,\"results\":[" + getDeal(2, "2026-01-02T00:00:00Z") + "," +
+                               getDeal(3, "2026-01-02T00:00:00Z") + "]}")));
+    List<StructuredRecord> records = getPipelineResults(properties, 3);
+    Assert.assertEquals(3, records.size());
+    List<String> ids = new ArrayList<>();
+    for (StructuredRecord record : records) {
+      Assert.assertEquals("Deals", record.get("objectType"));
+      ids.add(new JsonParser().parse(record.<String>get("object")).getAsJsonObject().get("id").getAsString());
+    }
+    Collections.sort(ids);
+    Assert.assertEquals(Arrays.asList("1", "2", "3"), ids);
+  }
+
+  private static String getDeal(int id, String updatedAt) {
+    return String.format("{\"id\":\"%d\",\"properties\":{\"dealstage\":\"closedwon\"}," +
+                           "\"updatedAt\":\"%s\",\"archived\":false}", id, updatedAt);
+  }
+
   public List<StructuredRecord> getPipelineResults(SourceHubspotConfig sourceHubspotConfig) throws Exception {
     ImmutableMap.Builder<String, String> builder = new ImmutableMap.Builder<String, String>();
     builder.put("referenceName", sourceHubspotConfig.referenceName);
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import io.cdap.plugin.hubspot.common.HubspotRateLimiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptivePullIntervalTest {
+
+  @Test
+  public void testIntervalAdaptsWithinBounds() {
+    AdaptivePullInterval interval = new AdaptivePullInterval(1000, 5000, new HubspotRateLimiter());
+    Assert.assertEquals(2000, interval.next(false));
+    Assert.assertEquals(4000, interval.next(false));
+    Assert.assertEquals(5000, interval.next(false));
+    Assert.assertEquals(5000, interval.next(false));
+    Assert.assertEquals(2500, interval.next(true));
+    Assert.assertEquals(1250, interval.next(true));
+    Assert.assertEquals(1000, interval.next(true));
+    Assert.assertEquals(1000, interval.next(true));
+  }
+
+  @Test
+  public void testCeilingIsNotBelowFloor() {
+    AdaptivePullInterval interval = new AdaptivePullInterval(3000, 1000, new HubspotRateLimiter());
+    Assert.assertEquals(3000, interval.next(false));
+    Assert.assertEquals(3000, interval.next(true));
+  }
+}
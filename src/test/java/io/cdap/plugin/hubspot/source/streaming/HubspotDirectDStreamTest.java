@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class HubspotDirectDStreamTest {
+
+  @Test
+  public void testWindowEndLeavesIndexingDelay() {
+    Assert.assertEquals(940_000L, HubspotDirectDStream.getWindowEnd(1_000_000L, 60));
+    Assert.assertEquals(1_000_000L, HubspotDirectDStream.getWindowEnd(1_000_000L, 0));
+  }
+
+  @Test
+  public void testFirstWindowsAreSplitFromEarliestModification() {
+    List<long[]> windows = HubspotDirectDStream.getFirstWindows(1000L, 1400L, 4);
+    Assert.assertEquals(4, windows.size());
+    // the first window is not bounded, so objects modified before the earliest one are read as well
+    Assert.assertArrayEquals(new long[] {-1, 1100}, windows.get(0));
+    Assert.assertArrayEquals(new long[] {1100, 1200}, windows.get(1));
+    Assert.assertArrayEquals(new long[] {1200, 1300}, windows.get(2));
+    Assert.assertArrayEquals(new long[] {1300, 1400}, windows.get(3));
+  }
+
+  @Test
+  public void testSingleUnboundedWindowWithoutObjects() {
+    assertSingleUnboundedWindow(HubspotDirectDStream.getFirstWindows(null, 1400L, 4));
+    // objects modified within the indexing delay are left to the next batch
+    assertSingleUnboundedWindow(HubspotDirectDStream.getFirstWindows(1500L, 1400L, 4));
+  }
+
+  private static void assertSingleUnboundedWindow(List<long[]> windows) {
+    Assert.assertEquals(1, windows.size());
+    Assert.assertArrayEquals(new long[] {-1, 1400}, windows.get(0));
+  }
+}
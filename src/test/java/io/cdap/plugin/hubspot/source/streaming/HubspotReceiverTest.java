@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import com.google.gson.Gson;
+import org.apache.spark.storage.StorageLevel;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+public class HubspotReceiverTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testCheckpointRoundTrip() throws IOException {
+    HubspotReceiver receiver = createReceiver(new File(temporaryFolder.getRoot(), "position").getPath());
+    Assert.assertNull(receiver.loadCheckpoint());
+
+    receiver.saveCheckpoint(new ReceiverPosition("10", 3));
+    receiver.saveCheckpoint(new ReceiverPosition("20", 5));
+    ReceiverPosition position = receiver.loadCheckpoint();
+    Assert.assertNotNull(position);
+    Assert.assertEquals("20", position.getPageOffset());
+    Assert.assertEquals(5, position.getIteratorPosition());
+
+    receiver.saveCheckpoint(new ReceiverPosition(null, 1));
+    position = receiver.loadCheckpoint();
+    Assert.assertNotNull(position);
+    Assert.assertNull(position.getPageOffset());
+    Assert.assertEquals(1, position.getIteratorPosition());
+  }
+
+  @Test
+  public void testCorruptCheckpointStartsFromFirstPage() throws IOException {
+    File checkpoint = temporaryFolder.newFile("position");
+    Files.write(checkpoint.toPath(), "{not json".getBytes(StandardCharsets.UTF_8));
+    Assert.assertNull(createReceiver(checkpoint.getPath()).loadCheckpoint());
+  }
+
+  @Test
+  public void testNoCheckpointWithoutPath() throws IOException {
+    HubspotReceiver receiver = createReceiver(null);
+    receiver.saveCheckpoint(new ReceiverPosition("10", 3));
+    Assert.assertNull(receiver.loadCheckpoint());
+  }
+
+  @Test
+  public void testFailureDelayGrowsExponentially() {
+    for (int i = 0; i < 100; i++) {
+      assertDelayBetween(500, 1000, HubspotReceiver.getFailureDelay(1));
+      assertDelayBetween(1000, 2000, HubspotReceiver.getFailureDelay(2));
+      assertDelayBetween(4000, 8000, HubspotReceiver.getFailureDelay(4));
+    }
+  }
+
+  @Test
+  public void testFailureDelayIsCapped() {
+    long max = TimeUnit.MINUTES.toMillis(5);
+    for (int failures : new int[] {10, 30, 100, Integer.MAX_VALUE}) {
+      assertDelayBetween(max / 2, max, HubspotReceiver.getFailureDelay(failures));
+    }
+  }
+
+  private static void assertDelayBetween(long min, long max, long delay) {
+    Assert.assertTrue(String.format("Delay %d is not between %d and %d", delay, min, max),
+                      delay >= min && delay <= max);
+  }
+
+  private static HubspotReceiver createReceiver(String checkpointPath) throws IOException {
+    StringBuilder json = new StringBuilder("{\"referenceName\":\"test\",\"objectType\":\"Contacts\"");
+    if (checkpointPath != null) {
+      json.append(",\"checkpointPath\":").append(new Gson().toJson(checkpointPath));
+    }
+    json.append('}');
+    HubspotStreamingSourceConfig config = new Gson().fromJson(json.toString(), HubspotStreamingSourceConfig.class);
+    return new HubspotReceiver(config, StorageLevel.MEMORY_AND_DISK_2());
+  }
+}
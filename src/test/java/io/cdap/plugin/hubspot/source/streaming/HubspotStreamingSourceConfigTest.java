@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import com.google.gson.Gson;
+import io.cdap.plugin.hubspot.common.ObjectType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class HubspotStreamingSourceConfigTest {
+
+  @Test
+  public void testAdditionalObjectTypes() {
+    Assert.assertEquals(Collections.emptyList(), createConfig(null).getAdditionalObjectTypes());
+    Assert.assertEquals(Collections.emptyList(), createConfig(" , ").getAdditionalObjectTypes());
+    Assert.assertEquals(Arrays.asList("Companies", "Deals"),
+                        createConfig(" Companies,,Deals ").getAdditionalObjectTypes());
+  }
+
+  @Test
+  public void testForObjectType() {
+    HubspotStreamingSourceConfig config = createConfig("Companies,Deals");
+    HubspotStreamingSourceConfig copy = config.forObjectType("Companies");
+    Assert.assertEquals(ObjectType.COMPANIES, copy.getObjectType());
+    Assert.assertTrue(copy.getAdditionalObjectTypes().isEmpty());
+    Assert.assertFalse(copy.isCheckpointed());
+    // the original config is left as it is
+    Assert.assertEquals(ObjectType.CONTACTS, config.getObjectType());
+    Assert.assertEquals(Arrays.asList("Companies", "Deals"), config.getAdditionalObjectTypes());
+  }
+
+  @Test
+  public void testForObjectTypeDerivesCheckpointPath() {
+    HubspotStreamingSourceConfig config = new Gson().fromJson(
+      "{\"referenceName\":\"test\",\"objectType\":\"Contacts\",\"additionalObjectTypes\":\"Deals\"," +
+        "\"checkpointPath\":\"/tmp/position\"}", HubspotStreamingSourceConfig.class);
+    Assert.assertEquals("/tmp/position-deals", config.forObjectType("Deals").getCheckpointPath());
+    Assert.assertEquals("/tmp/position", config.getCheckpointPath());
+  }
+
+  private static HubspotStreamingSourceConfig createConfig(String additionalObjectTypes) {
+    String json = "{\"referenceName\":\"test\",\"objectType\":\"Contacts\"";
+    if (additionalObjectTypes != null) {
+      json += ",\"additionalObjectTypes\":" + new Gson().toJson(additionalObjectTypes);
+    }
+    return new Gson().fromJson(json + "}", HubspotStreamingSourceConfig.class);
+  }
+}
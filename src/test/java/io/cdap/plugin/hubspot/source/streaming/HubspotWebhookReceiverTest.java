@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import io.cdap.plugin.hubspot.common.ObjectType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class HubspotWebhookReceiverTest {
+
+  private static final List<String> EVENTS = Arrays.asList(
+    "{\"objectId\":1,\"subscriptionType\":\"contact.creation\"}",
+    "{\"objectId\":2,\"subscriptionType\":\"deal.propertyChange\"}",
+    "{\"objectId\":3,\"subscriptionType\":\"company.creation\"}",
+    "{\"objectId\":1,\"subscriptionType\":\"contact.propertyChange\"}",
+    "{\"objectId\":4,\"subscriptionType\":\"contact.propertyChange\"}",
+    "{\"objectId\":5}");
+
+  @Test
+  public void testEventsOfOtherObjectTypesAreSkipped() {
+    Assert.assertEquals(Arrays.asList("1", "4"),
+                        new ArrayList<>(HubspotWebhookReceiver.getObjectIds(EVENTS, ObjectType.CONTACTS)));
+    Assert.assertEquals(Collections.singletonList("2"),
+                        new ArrayList<>(HubspotWebhookReceiver.getObjectIds(EVENTS, ObjectType.DEALS)));
+    Assert.assertEquals(Collections.singletonList("3"),
+                        new ArrayList<>(HubspotWebhookReceiver.getObjectIds(EVENTS, ObjectType.COMPANIES)));
+    Assert.assertTrue(HubspotWebhookReceiver.getObjectIds(EVENTS, ObjectType.TICKETS).isEmpty());
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class HubspotWebhookServerTest {
+  private static final String CLIENT_SECRET = "secret";
+  private static final String EVENTS = "[{\"objectId\":1246965,\"subscriptionType\":\"contact.propertyChange\"}," +
+    "{\"objectId\":1246978,\"subscriptionType\":\"contact.creation\"}]";
+
+  private BlockingQueue<String> events;
+  private HubspotWebhookServer server;
+
+  @Before
+  public void setUp() throws IOException {
+    events = new ArrayBlockingQueue<>(10);
+    server = new HubspotWebhookServer(0, CLIENT_SECRET, events);
+    server.start();
+  }
+
+  @After
+  public void tearDown() {
+    server.stop();
+  }
+
+  @Test
+  public void testV1Signature() throws IOException {
+    HttpURLConnection connection = post();
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_HEADER,
+                                  HubspotWebhookServer.getV1Signature(CLIENT_SECRET, EVENTS));
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_VERSION_HEADER, "v1");
+
+    Assert.assertEquals(204, send(connection, EVENTS));
+    Assert.assertEquals(2, events.size());
+    Assert.assertTrue(events.poll().contains("1246965"));
+  }
+
+  @Test
+  public void testV3Signature() throws IOException {
+    String timestamp = String.valueOf(System.currentTimeMillis());
+    String uri = String.format("https://localhost:%d/", server.getPort());
+    HttpURLConnection connection = post();
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_V3_HEADER,
+                                  HubspotWebhookServer.getV3Signature(CLIENT_SECRET, "POST", uri, EVENTS, timestamp));
+    connection.setRequestProperty(HubspotWebhookServer.TIMESTAMP_HEADER, timestamp);
+
+    Assert.assertEquals(204, send(connection, EVENTS));
+    Assert.assertEquals(2, events.size());
+  }
+
+  @Test
+  public void testInvalidSignature() throws IOException {
+    HttpURLConnection connection = post();
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_HEADER,
+                                  HubspotWebhookServer.getV1Signature("other-secret", EVENTS));
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_VERSION_HEADER, "v1");
+
+    Assert.assertEquals(401, send(connection, EVENTS));
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void testInvalidBody() throws IOException {
+    String body = "{\"objectId\":1246965}";
+    HttpURLConnection connection = post();
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_HEADER,
+                                  HubspotWebhookServer.getV1Signature(CLIENT_SECRET, body));
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_VERSION_HEADER, "v1");
+
+    Assert.assertEquals(400, send(connection, body));
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void testStaleV3Timestamp() throws IOException {
+    String timestamp = String.valueOf(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10));
+    String uri = String.format("https://localhost:%d/", server.getPort());
+    HttpURLConnection connection = post();
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_V3_HEADER,
+                                  HubspotWebhookServer.getV3Signature(CLIENT_SECRET, "POST", uri, EVENTS, timestamp));
+    connection.setRequestProperty(HubspotWebhookServer.TIMESTAMP_HEADER, timestamp);
+
+    Assert.assertEquals(401, send(connection, EVENTS));
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void testFullQueue() throws IOException {
+    for (int i = 0; i < 9; i++) {
+      events.add("{}");
+    }
+    HttpURLConnection connection = post();
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_HEADER,
+                                  HubspotWebhookServer.getV1Signature(CLIENT_SECRET, EVENTS));
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_VERSION_HEADER, "v1");
+
+    Assert.assertEquals(503, send(connection, EVENTS));
+    Assert.assertEquals(9, events.size());
+  }
+
+  @Test
+  public void testMethodNotAllowed() throws IOException {
+    URL url = new URL(String.format("http://localhost:%d/", server.getPort()));
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestMethod("GET");
+
+    Assert.assertEquals(405, connection.getResponseCode());
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void testBodyTooLarge() throws IOException {
+    char[] padding = new char[HubspotWebhookServer.MAX_BODY_BYTES];
+    Arrays.fill(padding, ' ');
+    String body = EVENTS + new String(padding);
+    HttpURLConnection connection = post();
+    // without a content length the limit is only found while reading
+    connection.setChunkedStreamingMode(4096);
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_HEADER,
+                                  HubspotWebhookServer.getV1Signature(CLIENT_SECRET, body));
+    connection.setRequestProperty(HubspotWebhookServer.SIGNATURE_VERSION_HEADER, "v1");
+
+    Assert.assertEquals(413, send(connection, body));
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  private HttpURLConnection post() throws IOException {
+    URL url = new URL(String.format("http://localhost:%d/", server.getPort()));
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestMethod("POST");
+    connection.setDoOutput(true);
+    connection.setRequestProperty("Content-Type", "application/json");
+    return connection;
+  }
+
+  private static int send(HttpURLConnection connection, String body) throws IOException {
+    try (OutputStream out = connection.getOutputStream()) {
+      out.write(body.getBytes(StandardCharsets.UTF_8));
+    }
+    return connection.getResponseCode();
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2026 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.cdap.plugin.hubspot.source.streaming;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RecordDeduplicatorTest {
+
+  @Test
+  public void testObjectsAreIdentifiedByIdAndModificationDate() {
+    RecordDeduplicator deduplicator = new RecordDeduplicator(10);
+    Assert.assertFalse(deduplicator.isDuplicate("{\"id\":\"1\",\"updatedAt\":\"2026-01-01T00:00:00Z\"}"));
+    // the order and the values of other fields do not matter
+    Assert.assertTrue(deduplicator.isDuplicate("{\"updatedAt\":\"2026-01-01T00:00:00Z\",\"id\":\"1\"," +
+                                                 "\"archived\":false}"));
+    // a modified object is emitted again
+    Assert.assertFalse(deduplicator.isDuplicate("{\"id\":\"1\",\"updatedAt\":\"2026-01-02T00:00:00Z\"}"));
+    Assert.assertFalse(deduplicator.isDuplicate("{\"id\":\"2\",\"updatedAt\":\"2026-01-01T00:00:00Z\"}"));
+  }
+
+  @Test
+  public void testLegacyModificationDateProperties() {
+    RecordDeduplicator deduplicator = new RecordDeduplicator(10);
+    String contact = "{\"vid\":1,\"properties\":{\"lastmodifieddate\":{\"value\":\"1767225600000\"}}}";
+    Assert.assertFalse(deduplicator.isDuplicate(contact));
+    Assert.assertTrue(deduplicator.isDuplicate(contact));
+    Assert.assertFalse(deduplicator.isDuplicate(
+      "{\"vid\":1,\"properties\":{\"lastmodifieddate\":{\"value\":\"1767312000000\"}}}"));
+  }
+
+  @Test
+  public void testRecordsWithoutKeyAreIdentifiedByContent() {
+    RecordDeduplicator deduplicator = new RecordDeduplicator(10);
+    Assert.assertFalse(deduplicator.isDuplicate("{\"id\":\"1\"}"));
+    Assert.assertTrue(deduplicator.isDuplicate("{\"id\":\"1\"}"));
+    Assert.assertFalse(deduplicator.isDuplicate("{\"id\":\"1\",\"name\":\"other\"}"));
+    Assert.assertFalse(deduplicator.isDuplicate("not json"));
+    Assert.assertTrue(deduplicator.isDuplicate("not json"));
+  }
+
+  @Test
+  public void testWindowKeepsMostRecentlyReceived() {
+    RecordDeduplicator deduplicator = new RecordDeduplicator(2);
+    Assert.assertFalse(deduplicator.isDuplicate("{\"a\":1}"));
+    Assert.assertFalse(deduplicator.isDuplicate("{\"a\":2}"));
+    // received again, so it stays in the window while the other one is evicted
+    Assert.assertTrue(deduplicator.isDuplicate("{\"a\":1}"));
+    Assert.assertFalse(deduplicator.isDuplicate("{\"a\":3}"));
+    Assert.assertTrue(deduplicator.isDuplicate("{\"a\":1}"));
+    Assert.assertFalse(deduplicator.isDuplicate("{\"a\":2}"));
+  }
+}